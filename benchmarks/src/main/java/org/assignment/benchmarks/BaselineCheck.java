@@ -0,0 +1,101 @@
+package org.assignment.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file with a stored baseline.
+ * Usage: {@code BaselineCheck <baseline.json> <result.json> [tolerance]}
+ * <p>
+ * Both the primary score and the normalized allocation rate reported by the GC profiler
+ * ({@code gc.alloc.rate.norm}) are checked. The process exits with status 1 when any
+ * benchmark is worse than the baseline by more than the tolerance (default 0.20 = 20%).
+ */
+public final class BaselineCheck {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    private static final double DEFAULT_TOLERANCE = 0.20;
+
+    private BaselineCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineCheck <baseline.json> <result.json> [tolerance]");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[0]);
+        if (!baselineFile.exists()) {
+            System.out.println("No baseline found at " + baselineFile + ", nothing to compare against.");
+            return;
+        }
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_TOLERANCE;
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, Score> baseline = read(objectMapper.readTree(baselineFile));
+        Map<String, Score> current = read(objectMapper.readTree(new File(args[1])));
+
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : new TreeMap<>(current).entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW        %s: %.3f %s%n", entry.getKey(), entry.getValue().score, entry.getValue().unit);
+                continue;
+            }
+            Score after = entry.getValue();
+            boolean slower = after.isWorseThan(before, tolerance);
+            boolean allocatesMore = before.allocation > 0
+                    && after.allocation > before.allocation * (1 + tolerance);
+            if (slower || allocatesMore) {
+                regressions++;
+            }
+            System.out.printf("%-10s %s: %.3f -> %.3f %s, %.0f -> %.0f B/op%n",
+                    slower || allocatesMore ? "REGRESSED" : "OK",
+                    entry.getKey(), before.score, after.score, after.unit, before.allocation, after.allocation);
+        }
+
+        if (regressions > 0) {
+            System.err.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, tolerance * 100);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(JsonNode results) {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+
+            JsonNode primary = result.path("primaryMetric");
+            JsonNode allocation = result.path("secondaryMetrics").path(ALLOCATION_METRIC);
+            scores.put(key.toString(), new Score(
+                    result.path("mode").asText(),
+                    primary.path("score").asDouble(),
+                    primary.path("scoreUnit").asText(),
+                    allocation.path("score").asDouble(0)));
+        }
+        return scores;
+    }
+
+    private record Score(String mode, double score, String unit, double allocation) {
+
+        boolean isWorseThan(Score baseline, double tolerance) {
+            // Throughput is better when higher; every other JMH mode reports time, which is better when lower.
+            if ("thrpt".equals(mode)) {
+                return score < baseline.score * (1 - tolerance);
+            }
+            return score > baseline.score * (1 + tolerance);
+        }
+    }
+}
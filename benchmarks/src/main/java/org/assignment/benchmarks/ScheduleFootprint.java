@@ -0,0 +1,186 @@
+package org.assignment.benchmarks;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.assignment.domainmodel.Employee;
+import org.assignment.domainmodel.Meeting;
+import org.assignment.schedule.OffHeapScheduleStore;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares keeping every employee's schedule as {@link Meeting} graphs on the heap with the
+ * {@link OffHeapScheduleStore}: heap in use after loading, and garbage collection pauses while
+ * loading and while answering a stream of free-slot style lookups with occasional bookings.
+ * <p>
+ * Arguments: {@code heap|off-heap}, employees, meetings per employee, workload seconds.
+ * Run each mode in its own JVM with the same {@code -Xmx}.
+ */
+public final class ScheduleFootprint {
+
+    private static final int BOOKING_EVERY = 10;
+    private static final int SLOTS_PER_LOOKUP = 112;
+
+    private final AtomicLong pauses = new AtomicLong();
+    private final AtomicLong pauseMillis = new AtomicLong();
+    private final AtomicLong maxPauseMillis = new AtomicLong();
+
+    private ScheduleFootprint() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) collector).addNotificationListener((notification, handback) -> {
+                if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                    return;
+                }
+                GarbageCollectionNotificationInfo info =
+                        GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                // Concurrent cycles are reported too but do not stop the application.
+                if (info.getGcName().contains("Concurrent")) {
+                    return;
+                }
+                long duration = info.getGcInfo().getDuration();
+                pauses.incrementAndGet();
+                pauseMillis.addAndGet(duration);
+                maxPauseMillis.accumulateAndGet(duration, Math::max);
+            }, null, null);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        boolean offHeap = args.length > 0 && args[0].equals("off-heap");
+        int employees = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int meetingsPerEmployee = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+        new ScheduleFootprint().run(offHeap, employees, meetingsPerEmployee, seconds);
+    }
+
+    private void run(boolean offHeap, int employees, int meetingsPerEmployee, int seconds) throws InterruptedException {
+        System.out.printf("Mode: %s, employees: %d, meetings per employee: %d%n",
+                offHeap ? "off-heap" : "heap", employees, meetingsPerEmployee);
+        long baseline = usedHeapAfterGc();
+        resetPauses();
+
+        long started = System.nanoTime();
+        Map<Long, List<Meeting>> calendars = new HashMap<>();
+        OffHeapScheduleStore store = offHeap
+                ? new OffHeapScheduleStore(employees + 1, employees * meetingsPerEmployee)
+                : new OffHeapScheduleStore(1, 1);
+        for (long id = 1; id <= employees; id++) {
+            List<Meeting> meetings = SyntheticCalendar.meetingsFor(SyntheticCalendar.employee(id), meetingsPerEmployee, id);
+            if (offHeap) {
+                for (Meeting meeting : meetings) {
+                    store.add(id, meeting.getStartTime(), meeting.getEndTime());
+                }
+            } else {
+                calendars.put(id, meetings);
+            }
+        }
+        store.markReady();
+        report("Load", started);
+
+        long used = usedHeapAfterGc() - baseline;
+        System.out.printf("Heap in use: %d MB (%d bytes per meeting), off-heap: %d MB%n",
+                used >> 20, used / ((long) employees * meetingsPerEmployee),
+                offHeap ? store.offHeapBytes() >> 20 : 0);
+
+        resetPauses();
+        started = System.nanoTime();
+        Random random = new Random(7);
+        LocalDateTime windowStart = SyntheticCalendar.startOfToday();
+        LocalDateTime windowEnd = windowStart.plusDays(7);
+        long lookups = 0;
+        long busyMinutes = 0;
+        while (System.nanoTime() - started < seconds * 1_000_000_000L) {
+            long first = 1 + random.nextInt(employees);
+            long second = 1 + random.nextInt(employees);
+            busyMinutes += offHeap
+                    ? storedBusyMinutes(store, first, windowStart, windowEnd) + storedBusyMinutes(store, second, windowStart, windowEnd)
+                    : busyMinutes(calendars.get(first), windowStart, windowEnd) + busyMinutes(calendars.get(second), windowStart, windowEnd);
+            busyMinutes += slotResponse(windowStart).size();
+            if (++lookups % BOOKING_EVERY == 0) {
+                LocalDateTime start = windowStart.plusDays(random.nextInt(7)).plusMinutes(30L * random.nextInt(16));
+                if (offHeap) {
+                    store.add(first, start, start.plusMinutes(30));
+                } else {
+                    calendars.get(first).add(booking(calendars.get(first).get(0).getOwner(), start, lookups));
+                }
+            }
+        }
+        report("Workload", started);
+        System.out.printf("Lookups: %d (%d per second), checksum %d%n", lookups, lookups / seconds, busyMinutes);
+    }
+
+    private static long busyMinutes(List<Meeting> meetings, LocalDateTime start, LocalDateTime end) {
+        long minutes = 0;
+        for (Meeting meeting : meetings) {
+            if (meeting.getStartTime().isBefore(end) && meeting.getEndTime().isAfter(start)) {
+                minutes += Duration.between(meeting.getStartTime(), meeting.getEndTime()).toMinutes();
+            }
+        }
+        return minutes;
+    }
+
+    private static long storedBusyMinutes(OffHeapScheduleStore store, long employeeId,
+                                          LocalDateTime start, LocalDateTime end) {
+        long minutes = 0;
+        int[] busy = store.busyMinutes(employeeId, start, end);
+        for (int i = 0; i < busy.length; i += 2) {
+            minutes += busy[i + 1] - busy[i];
+        }
+        return minutes;
+    }
+
+    /**
+     * The per-request garbage of a free-slot response, the same in both modes.
+     */
+    private static List<Map<String, Object>> slotResponse(LocalDateTime start) {
+        List<Map<String, Object>> slots = new ArrayList<>(SLOTS_PER_LOOKUP);
+        for (int i = 0; i < SLOTS_PER_LOOKUP; i++) {
+            LocalDateTime slotStart = start.plusMinutes(30L * i);
+            Map<String, Object> slot = new HashMap<>();
+            slot.put("date", slotStart.toLocalDate().toString());
+            slot.put("startTime", slotStart.toLocalTime().toString());
+            slots.add(slot);
+        }
+        return slots;
+    }
+
+    private static Meeting booking(Employee owner, LocalDateTime start, long id) {
+        Meeting meeting = new Meeting();
+        meeting.setId(id);
+        meeting.setTitle("Booking " + id);
+        meeting.setStartTime(start);
+        meeting.setEndTime(start.plusMinutes(30));
+        meeting.setOwner(owner);
+        meeting.setParticipants(new ArrayList<>());
+        return meeting;
+    }
+
+    private void report(String phase, long started) {
+        System.out.printf("%s: %d ms, %d GC pauses, %d ms paused in total, longest %d ms%n",
+                phase, (System.nanoTime() - started) / 1_000_000, pauses.get(), pauseMillis.get(), maxPauseMillis.get());
+    }
+
+    private void resetPauses() throws InterruptedException {
+        // Notifications arrive asynchronously; let the ones already raised land first.
+        Thread.sleep(200);
+        pauses.set(0);
+        pauseMillis.set(0);
+        maxPauseMillis.set(0);
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
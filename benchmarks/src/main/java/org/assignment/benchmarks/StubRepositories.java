@@ -0,0 +1,123 @@
+package org.assignment.benchmarks;
+
+import org.assignment.domainmodel.Employee;
+import org.assignment.domainmodel.Meeting;
+import org.assignment.domainmodel.Room;
+import org.assignment.repository.EmployeeRepository;
+import org.assignment.repository.MeetingRepository;
+import org.assignment.repository.RoomRepository;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory repository stand-ins so that service benchmarks measure the scheduling
+ * algorithms rather than a mocking framework or a database.
+ */
+public final class StubRepositories {
+
+    private StubRepositories() {
+    }
+
+    public static EmployeeRepository employees(Map<Long, Employee> employees) {
+        return (EmployeeRepository) Proxy.newProxyInstance(
+                EmployeeRepository.class.getClassLoader(),
+                new Class<?>[]{EmployeeRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> Optional.ofNullable(employees.get((Long) args[0]));
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubEmployeeRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    public static MeetingRepository meetings(Map<Long, List<Meeting>> meetingsByEmployee) {
+        Map<Long, SortedCalendar> calendars = new HashMap<>();
+        meetingsByEmployee.forEach((employeeId, meetings) -> calendars.put(employeeId, new SortedCalendar(meetings)));
+        return (MeetingRepository) Proxy.newProxyInstance(
+                MeetingRepository.class.getClassLoader(),
+                new Class<?>[]{MeetingRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findOverlappingMeetings" -> calendars.getOrDefault((Long) args[0], SortedCalendar.EMPTY)
+                            .overlapping((LocalDateTime) args[1], (LocalDateTime) args[2]);
+                    case "findOverlappingRoomMeetings" -> Collections.emptyList();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubMeetingRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    public static RoomRepository rooms(List<Room> rooms) {
+        return (RoomRepository) Proxy.newProxyInstance(
+                RoomRepository.class.getClassLoader(),
+                new Class<?>[]{RoomRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByCapacityGreaterThanEqualOrderByCapacityAscIdAsc" -> rooms.stream()
+                            .filter(room -> room.getCapacity() >= (Integer) args[0])
+                            .toList();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubRoomRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * One employee's meetings sorted by start time, answering window lookups with the condition of
+     * {@link MeetingRepository#findOverlappingMeetings} by binary search, the way an index would.
+     * A linear filter would make large calendars measure the stub instead of the service.
+     */
+    private static final class SortedCalendar {
+
+        static final SortedCalendar EMPTY = new SortedCalendar(List.of());
+
+        private final List<Meeting> meetings;
+        private final Duration longest;
+
+        SortedCalendar(List<Meeting> meetings) {
+            this.meetings = meetings.stream().sorted(Comparator.comparing(Meeting::getStartTime)).toList();
+            this.longest = meetings.stream()
+                    .map(meeting -> Duration.between(meeting.getStartTime(), meeting.getEndTime()))
+                    .max(Comparator.naturalOrder())
+                    .orElse(Duration.ZERO);
+        }
+
+        List<Meeting> overlapping(LocalDateTime start, LocalDateTime end) {
+            List<Meeting> result = new ArrayList<>();
+            for (int i = firstStartingAt(start.minus(longest)); i < meetings.size(); i++) {
+                Meeting meeting = meetings.get(i);
+                if (!meeting.getStartTime().isBefore(end)) {
+                    break;
+                }
+                if (meeting.getEndTime().isAfter(start)) {
+                    result.add(meeting);
+                }
+            }
+            return result;
+        }
+
+        private int firstStartingAt(LocalDateTime time) {
+            int low = 0;
+            int high = meetings.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (meetings.get(mid).getStartTime().isBefore(time)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.assignment.benchmarks;
+
+import org.assignment.domainmodel.Employee;
+import org.assignment.domainmodel.Meeting;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates deterministic synthetic calendars for benchmarks.
+ * Meetings are placed on 30 minute boundaries inside business hours (9 AM - 5 PM),
+ * starting today and spread over enough days to keep roughly half of the slots busy.
+ */
+public final class SyntheticCalendar {
+
+    private static final int SLOTS_PER_DAY = 16;
+    private static final int MINIMUM_DAYS = 7;
+
+    private SyntheticCalendar() {
+    }
+
+    public static LocalDateTime startOfToday() {
+        return LocalDateTime.now().withHour(9).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    public static Employee employee(long id) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName("Employee " + id);
+        return employee;
+    }
+
+    public static List<Meeting> meetingsFor(Employee owner, int meetingsPerEmployee, long seed) {
+        Random random = new Random(seed);
+        LocalDateTime start = startOfToday();
+        int days = Math.max(MINIMUM_DAYS, meetingsPerEmployee * 2 / SLOTS_PER_DAY);
+
+        List<Meeting> meetings = new ArrayList<>(meetingsPerEmployee);
+        for (int i = 0; i < meetingsPerEmployee; i++) {
+            int day = random.nextInt(days);
+            int slot = random.nextInt(SLOTS_PER_DAY);
+            int lengthInSlots = 1 + random.nextInt(3);
+
+            Meeting meeting = new Meeting();
+            meeting.setId((owner.getId() << 32) + i);
+            meeting.setTitle("Synthetic meeting " + i);
+            meeting.setStartTime(start.plusDays(day).plusMinutes(30L * slot));
+            meeting.setEndTime(meeting.getStartTime().plusMinutes(30L * lengthInSlots));
+            meeting.setOwner(owner);
+            meeting.setParticipants(Collections.emptyList());
+            meetings.add(meeting);
+        }
+        return meetings;
+    }
+}
@@ -0,0 +1,83 @@
+package org.assignment.load;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe latency histogram with logarithmic buckets (10% wide) between 10 µs and
+ * roughly two minutes. Percentiles are reported as the upper bound of their bucket.
+ */
+public class LatencyHistogram {
+
+    private static final double MIN_MICROS = 10;
+    private static final double GROWTH = 1.1;
+    private static final int BUCKETS = 180;
+    private static final int BAR_WIDTH = 50;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void record(long micros) {
+        counts.incrementAndGet(bucketOf(micros));
+        total.incrementAndGet();
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public void recordError() {
+        errors.incrementAndGet();
+    }
+
+    public long count() {
+        return total.get();
+    }
+
+    public long percentileMicros(double percentile) {
+        long target = (long) Math.ceil(total.get() * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= Math.max(1, target)) {
+                return Math.min(upperBound(i), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+
+    public void print(String name, double elapsedSeconds, PrintStream out) {
+        long count = total.get();
+        out.printf("%n%s: %d requests (%.1f/s), %d errors%n", name, count, count / elapsedSeconds, errors.get());
+        if (count == 0) {
+            return;
+        }
+        out.printf("  p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%n",
+                percentileMicros(50) / 1000.0, percentileMicros(90) / 1000.0, percentileMicros(99) / 1000.0,
+                percentileMicros(99.9) / 1000.0, maxMicros.get() / 1000.0);
+
+        long largest = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            largest = Math.max(largest, counts.get(i));
+        }
+        for (int i = 0; i < BUCKETS; i++) {
+            long bucketCount = counts.get(i);
+            if (bucketCount > 0) {
+                out.printf("  <= %10.2fms %8d %s%n", upperBound(i) / 1000.0, bucketCount,
+                        "#".repeat((int) Math.max(1, bucketCount * BAR_WIDTH / largest)));
+            }
+        }
+    }
+
+    private static int bucketOf(long micros) {
+        if (micros <= MIN_MICROS) {
+            return 0;
+        }
+        int bucket = (int) Math.ceil(Math.log(micros / MIN_MICROS) / Math.log(GROWTH));
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    private static long upperBound(int bucket) {
+        return (long) Math.ceil(MIN_MICROS * Math.pow(GROWTH, bucket));
+    }
+}
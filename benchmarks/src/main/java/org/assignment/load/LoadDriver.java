@@ -0,0 +1,164 @@
+package org.assignment.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Open-loop load driver for the {@code /api/calendar} endpoints.
+ * <p>
+ * Requests are issued on a fixed schedule at the target rate, independent of response
+ * times, and latency is measured from the intended send time so that a slow server is
+ * not hidden by the driver backing off. Employee IDs are drawn from {@code 1..employees},
+ * which matches a database loaded by the {@code seed} profile.
+ * <p>
+ * Options ({@code --name=value}): {@code base-url} (http://localhost:8080), {@code rps} (50),
+ * {@code duration} in seconds (30), {@code employees} (1000), {@code callers} (100) distinct
+ * {@code X-Caller-Id} values so per-caller rate limits spread realistically (the server must run with
+ * {@code calendar.rate-limit.trust-caller-header=true} to honour them), and {@code mix} as
+ * free-slots:conflicts:bookings weights (6:3:1). With {@code async-bookings} (false) bookings go to the
+ * write-behind endpoint, which must be enabled on the server with {@code calendar.async-booking.enabled}.
+ */
+public class LoadDriver {
+
+    private static final String FREE_SLOTS = "GET /free-slots";
+    private static final String CONFLICTS = "POST /conflicts";
+    private static final String BOOKINGS = "POST /meetings";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+    private final Phaser inFlight = new Phaser(1);
+
+    private final String baseUrl;
+    private final double rps;
+    private final int durationSeconds;
+    private final int employees;
+    private final int callers;
+    private final int[] mix;
+    private final boolean asyncBookings;
+
+    public LoadDriver(String baseUrl, double rps, int durationSeconds, int employees, int callers, int[] mix,
+                      boolean asyncBookings) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.rps = rps;
+        this.durationSeconds = durationSeconds;
+        this.employees = employees;
+        this.callers = callers;
+        this.mix = mix;
+        this.asyncBookings = asyncBookings;
+        histograms.put(FREE_SLOTS, new LatencyHistogram());
+        histograms.put(CONFLICTS, new LatencyHistogram());
+        histograms.put(BOOKINGS, new LatencyHistogram());
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        String[] weights = options.getOrDefault("mix", "6:3:1").split(":");
+        LoadDriver driver = new LoadDriver(
+                options.getOrDefault("base-url", "http://localhost:8080"),
+                Double.parseDouble(options.getOrDefault("rps", "50")),
+                Integer.parseInt(options.getOrDefault("duration", "30")),
+                Integer.parseInt(options.getOrDefault("employees", "1000")),
+                Integer.parseInt(options.getOrDefault("callers", "100")),
+                new int[]{Integer.parseInt(weights[0]), Integer.parseInt(weights[1]), Integer.parseInt(weights[2])},
+                Boolean.parseBoolean(options.getOrDefault("async-bookings", "false")));
+        driver.run();
+    }
+
+    public void run() throws InterruptedException {
+        System.out.printf("Driving %s at %.1f requests/s for %d s%n", baseUrl, rps, durationSeconds);
+        long intervalNanos = (long) (1_000_000_000L / rps);
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+        long[] nextSend = {startNanos};
+        ticker.scheduleAtFixedRate(() -> {
+            long now = System.nanoTime();
+            while (nextSend[0] <= now && nextSend[0] < endNanos) {
+                send(nextSend[0]);
+                nextSend[0] += intervalNanos;
+            }
+        }, 0, 1, TimeUnit.MILLISECONDS);
+
+        ticker.awaitTermination(durationSeconds, TimeUnit.SECONDS);
+        ticker.shutdownNow();
+        try {
+            inFlight.awaitAdvanceInterruptibly(inFlight.arrive(), 30, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            System.out.println("Some requests were still in flight after 30 s and are not reported");
+        }
+
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+        histograms.forEach((name, histogram) -> histogram.print(name, elapsedSeconds, System.out));
+    }
+
+    private void send(long intendedNanos) {
+        int pick = ThreadLocalRandom.current().nextInt(mix[0] + mix[1] + mix[2]);
+        String name;
+        HttpRequest.Builder request;
+        if (pick < mix[0]) {
+            name = FREE_SLOTS;
+            request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/calendar/free-slots?employee1Id="
+                    + randomEmployee() + "&employee2Id=" + randomEmployee() + "&durationMinutes=30")).GET();
+        } else if (pick < mix[0] + mix[1]) {
+            name = CONFLICTS;
+            request = jsonPost("/api/calendar/conflicts", meetingJson());
+        } else {
+            name = BOOKINGS;
+            String path = asyncBookings ? "/api/calendar/meetings/async" : "/api/calendar/meetings";
+            request = jsonPost(path + "?ownerId=" + randomEmployee(), meetingJson());
+        }
+        request.header("X-Caller-Id", "load-driver-" + ThreadLocalRandom.current().nextInt(callers));
+
+        LatencyHistogram histogram = histograms.get(name);
+        inFlight.register();
+        client.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            if (error != null || response.statusCode() >= 400) {
+                histogram.recordError();
+            } else {
+                histogram.record((System.nanoTime() - intendedNanos) / 1_000);
+            }
+            inFlight.arriveAndDeregister();
+        });
+    }
+
+    private HttpRequest.Builder jsonPost(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private String meetingJson() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime start = LocalDateTime.now().withHour(9).withMinute(0).withSecond(0).withNano(0)
+                .plusDays(random.nextInt(7))
+                .plusMinutes(30L * random.nextInt(15));
+        long owner = randomEmployee();
+        return "{\"title\":\"Load test meeting\",\"startTime\":\"" + start + "\",\"endTime\":\""
+                + start.plusMinutes(30) + "\",\"ownerId\":" + owner + ",\"participantIds\":["
+                + randomEmployee() + "," + randomEmployee() + "]}";
+    }
+
+    private long randomEmployee() {
+        return 1 + ThreadLocalRandom.current().nextInt(employees);
+    }
+}
@@ -0,0 +1,136 @@
+package org.assignment.load;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long the application takes from process start until it answers its first
+ * request, and how much memory it holds at that point.
+ * <p>
+ * The command, given after {@code --} or as a space-separated {@code command} option, is started
+ * {@code runs} times. Each time the probe polls
+ * {@code url} every few milliseconds until it returns 200, then reads the resident set
+ * size of the process from {@code /proc} (Linux only) and stops it. Medians are printed
+ * at the end.
+ * <p>
+ * Options ({@code --name=value}): {@code url} (a free-slot search on the sample data),
+ * {@code runs} (5), {@code timeout} in seconds (120) and {@code command}.
+ */
+public class StartupProbe {
+
+    private static final String DEFAULT_URL =
+            "http://localhost:8080/api/calendar/free-slots?employee1Id=1&employee2Id=2&durationMinutes=30";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    private final List<String> command;
+    private final URI url;
+    private final int runs;
+    private final Duration timeout;
+
+    public StartupProbe(List<String> command, URI url, int runs, Duration timeout) {
+        this.command = command;
+        this.url = url;
+        this.runs = runs;
+        this.timeout = timeout;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        List<String> command = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--")) {
+                command.addAll(Arrays.asList(args).subList(i + 1, args.length));
+                break;
+            }
+            String[] pair = args[i].replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        if (command.isEmpty() && options.containsKey("command")) {
+            command.addAll(Arrays.asList(options.get("command").trim().split("\\s+")));
+        }
+        if (command.isEmpty()) {
+            throw new IllegalArgumentException("Usage: StartupProbe [--url=...] [--runs=5] [--timeout=120] -- <command>");
+        }
+        new StartupProbe(command,
+                URI.create(options.getOrDefault("url", DEFAULT_URL)),
+                Integer.parseInt(options.getOrDefault("runs", "5")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "120"))))
+                .run();
+    }
+
+    public void run() throws Exception {
+        System.out.println("Starting: " + String.join(" ", command));
+        long[] firstRequestMillis = new long[runs];
+        long[] rssKilobytes = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            try {
+                long started = System.nanoTime();
+                awaitFirstResponse(process, started);
+                firstRequestMillis[run] = (System.nanoTime() - started) / 1_000_000;
+                rssKilobytes[run] = residentSetKilobytes(process.pid());
+                System.out.printf("Run %d: first request after %d ms, RSS %d MB%n",
+                        run + 1, firstRequestMillis[run], rssKilobytes[run] / 1024);
+            } finally {
+                process.destroy();
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            }
+        }
+        System.out.printf("Median: first request after %d ms, RSS %d MB%n",
+                median(firstRequestMillis), median(rssKilobytes) / 1024);
+    }
+
+    private void awaitFirstResponse(Process process, long started) throws InterruptedException, IOException {
+        HttpRequest request = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(30)).GET().build();
+        while (System.nanoTime() - started < timeout.toNanos()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with status " + process.exitValue());
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // Not listening yet
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("No successful response within " + timeout.toSeconds() + " s");
+    }
+
+    private static long residentSetKilobytes(long pid) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        return 0;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,101 @@
+package org.assignment.repository;
+
+import org.assignment.CalendarApplication;
+import org.assignment.benchmarks.SyntheticCalendar;
+import org.assignment.domainmodel.Employee;
+import org.assignment.domainmodel.Meeting;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link MeetingRepository#findOverlappingMeetings} against an embedded H2
+ * database holding a synthetic calendar, using the application's own JPA configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MeetingRepositoryBenchmark {
+
+    private static final int EMPLOYEES = 3;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Param({"10", "1000", "100000"})
+    private int meetingsPerEmployee;
+
+    private ConfigurableApplicationContext context;
+    private MeetingRepository meetingRepository;
+    private Long employeeId;
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CalendarApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.sql.init.mode=never",
+                        "logging.level.root=WARN")
+                .run();
+        meetingRepository = context.getBean(MeetingRepository.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        for (int i = 1; i <= EMPLOYEES; i++) {
+            jdbcTemplate.update("INSERT INTO employee (name) VALUES (?)", "Employee " + i);
+        }
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM employee ORDER BY id", Long.class);
+
+        for (int i = 0; i < ids.size(); i++) {
+            Employee owner = SyntheticCalendar.employee(ids.get(i));
+            List<Meeting> meetings = SyntheticCalendar.meetingsFor(owner, meetingsPerEmployee, owner.getId());
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO meeting (title, start_time, end_time, owner_id) VALUES (?, ?, ?, ?)",
+                    meetings, BATCH_SIZE, (ps, meeting) -> {
+                        ps.setString(1, meeting.getTitle());
+                        ps.setTimestamp(2, Timestamp.valueOf(meeting.getStartTime()));
+                        ps.setTimestamp(3, Timestamp.valueOf(meeting.getEndTime()));
+                        ps.setLong(4, owner.getId());
+                    });
+            // Every meeting gets the next employee as participant so the participant subquery has work to do.
+            jdbcTemplate.update("INSERT INTO meeting_participants (meeting_id, participants_id) " +
+                    "SELECT id, ? FROM meeting WHERE owner_id = ?", ids.get((i + 1) % ids.size()), owner.getId());
+        }
+
+        employeeId = ids.get(0);
+        windowStart = SyntheticCalendar.startOfToday();
+        windowEnd = windowStart.plusDays(7).withHour(17);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Meeting> findOverlappingMeetings() {
+        return meetingRepository.findOverlappingMeetings(employeeId, windowStart, windowEnd);
+    }
+}
@@ -0,0 +1,103 @@
+package org.assignment.service;
+
+import org.assignment.benchmarks.SyntheticCalendar;
+import org.assignment.domainmodel.Meeting;
+import org.assignment.service.BatchSchedulePlanner.Plan;
+import org.assignment.service.BatchSchedulePlanner.PlanRequest;
+import org.assignment.service.CalendarService.BusyInterval;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plans a week of recurring 1:1s and team syncs, the size of the weekly batch the scheduler
+ * was built for, with a single worker and with one worker per core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchSchedulePlannerBenchmark {
+
+    private static final int EMPLOYEES = 500;
+    private static final int MEETINGS_PER_EMPLOYEE = 40;
+    private static final int TEAM_SIZE = 8;
+
+    @Param({"2000"})
+    private int requests;
+
+    @Param({"1", "0"})
+    private int parallelism;
+
+    private ForkJoinPool pool;
+    private BatchSchedulePlanner planner;
+    private List<PlanRequest> planRequests;
+    private Map<Long, List<BusyInterval>> busy;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        planner = new BatchSchedulePlanner(pool, 3);
+
+        busy = new HashMap<>();
+        for (long id = 1; id <= EMPLOYEES; id++) {
+            List<Meeting> meetings = SyntheticCalendar.meetingsFor(
+                    SyntheticCalendar.employee(id), MEETINGS_PER_EMPLOYEE, id);
+            busy.put(id, CalendarService.mergeBusyIntervals(List.of(meetings)));
+        }
+
+        Random random = new Random(42);
+        LocalDateTime weekStart = SyntheticCalendar.startOfToday();
+        planRequests = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            Set<Long> attendees = new LinkedHashSet<>();
+            long owner = 1 + random.nextInt(EMPLOYEES);
+            attendees.add(owner);
+            boolean teamSync = random.nextInt(4) == 0;
+            if (teamSync) {
+                long teamStart = (owner - 1) / TEAM_SIZE * TEAM_SIZE + 1;
+                for (long member = teamStart; member < teamStart + TEAM_SIZE && member <= EMPLOYEES; member++) {
+                    attendees.add(member);
+                }
+            } else {
+                attendees.add(1L + random.nextInt(EMPLOYEES));
+            }
+            planRequests.add(new PlanRequest(attendees, Duration.ofMinutes(teamSync ? 60 : 30),
+                    weekStart, weekStart.plusDays(7), random.nextInt(3)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Plan plan() {
+        return planner.plan(planRequests, busy);
+    }
+}
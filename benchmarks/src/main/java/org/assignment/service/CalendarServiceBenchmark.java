@@ -0,0 +1,95 @@
+package org.assignment.service;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.assignment.benchmarks.StubRepositories;
+import org.assignment.benchmarks.SyntheticCalendar;
+import org.assignment.domainmodel.Employee;
+import org.assignment.domainmodel.Meeting;
+import org.assignment.schedule.OffHeapScheduleStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the in-memory scheduling algorithms of {@link CalendarService}.
+ * Repositories are replaced by stubs returning synthetic calendars, so the scores
+ * reflect slot scanning and overlap checks only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalendarServiceBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int meetingsPerEmployee;
+
+    private CalendarService calendarService;
+    private List<List<Meeting>> calendars;
+    private Meeting proposedMeeting;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Employee owner = SyntheticCalendar.employee(1L);
+        Employee participant1 = SyntheticCalendar.employee(2L);
+        Employee participant2 = SyntheticCalendar.employee(3L);
+
+        Map<Long, Employee> employees = new HashMap<>();
+        Map<Long, List<Meeting>> meetings = new HashMap<>();
+        for (Employee employee : Arrays.asList(owner, participant1, participant2)) {
+            employees.put(employee.getId(), employee);
+            meetings.put(employee.getId(),
+                    SyntheticCalendar.meetingsFor(employee, meetingsPerEmployee, employee.getId()));
+        }
+
+        calendarService = new CalendarService(
+                StubRepositories.employees(employees), StubRepositories.meetings(meetings),
+                StubRepositories.rooms(List.of()), new ScheduleVersions(), (OffHeapScheduleStore) null,
+                ObservationRegistry.NOOP);
+        calendars = List.of(meetings.get(owner.getId()), meetings.get(participant1.getId()));
+
+        LocalDateTime slotStart = SyntheticCalendar.startOfToday().plusDays(1).withHour(16).withMinute(30);
+        LocalDateTime slotEnd = slotStart.plusMinutes(30);
+
+        proposedMeeting = new Meeting();
+        proposedMeeting.setTitle("Benchmark meeting");
+        proposedMeeting.setStartTime(slotStart);
+        proposedMeeting.setEndTime(slotEnd);
+        proposedMeeting.setOwner(owner);
+        proposedMeeting.setParticipants(Arrays.asList(participant1, participant2));
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> findFreeSlots() {
+        return calendarService.findFreeSlots(1L, 2L, Duration.ofMinutes(30));
+    }
+
+    @Benchmark
+    public List<CalendarService.BusyInterval> mergeBusyIntervals() {
+        return CalendarService.mergeBusyIntervals(calendars);
+    }
+
+    @Benchmark
+    public List<Employee> findConflicts() {
+        return calendarService.findConflicts(proposedMeeting);
+    }
+}
@@ -0,0 +1,113 @@
+package org.assignment.service;
+
+import org.assignment.CalendarApplication;
+import org.assignment.benchmarks.SyntheticCalendar;
+import org.assignment.domainmodel.Employee;
+import org.assignment.domainmodel.Meeting;
+import org.assignment.repository.MeetingRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the live overlap query while the amount of past meetings grows, with and without
+ * running the archival job first. With archival the live table only holds the upcoming
+ * meetings, so the score should stay flat across {@code historyMeetings}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MeetingArchiveBenchmark {
+
+    private static final int UPCOMING_MEETINGS = 200;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Param({"0", "10000", "100000"})
+    private int historyMeetings;
+
+    @Param({"false", "true"})
+    private boolean archived;
+
+    private ConfigurableApplicationContext context;
+    private MeetingRepository meetingRepository;
+    private Long employeeId;
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CalendarApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:archive-benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.sql.init.mode=never",
+                        "calendar.archive.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        meetingRepository = context.getBean(MeetingRepository.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        jdbcTemplate.update("INSERT INTO employee (name) VALUES (?)", "Benchmark Employee");
+        employeeId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM employee", Long.class);
+        Employee employee = SyntheticCalendar.employee(employeeId);
+
+        List<Meeting> upcoming = SyntheticCalendar.meetingsFor(employee, UPCOMING_MEETINGS, 1L);
+        List<Meeting> history = SyntheticCalendar.meetingsFor(employee, historyMeetings, 2L);
+        // Move the generated history so that all of it ends at least a year before today.
+        Duration historyShift = Duration.ofDays(-(365 + historyMeetings / 8 + 7));
+        insert(jdbcTemplate, upcoming, employeeId, Duration.ZERO);
+        insert(jdbcTemplate, history, employeeId, historyShift);
+
+        if (archived) {
+            context.getBean(MeetingArchiveService.class)
+                    .archiveMeetingsEndedBefore(SyntheticCalendar.startOfToday().minusDays(1));
+        }
+
+        windowStart = SyntheticCalendar.startOfToday();
+        windowEnd = windowStart.plusDays(7).withHour(17);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Meeting> findOverlappingMeetings() {
+        return meetingRepository.findOverlappingMeetings(employeeId, windowStart, windowEnd);
+    }
+
+    private void insert(JdbcTemplate jdbcTemplate, List<Meeting> meetings, Long ownerId, Duration shift) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO meeting (title, start_time, end_time, owner_id) VALUES (?, ?, ?, ?)",
+                meetings, BATCH_SIZE, (ps, meeting) -> {
+                    ps.setString(1, meeting.getTitle());
+                    ps.setTimestamp(2, Timestamp.valueOf(meeting.getStartTime().plus(shift)));
+                    ps.setTimestamp(3, Timestamp.valueOf(meeting.getEndTime().plus(shift)));
+                    ps.setLong(4, ownerId);
+                });
+    }
+}
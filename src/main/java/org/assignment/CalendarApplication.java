@@ -1,11 +1,33 @@
 package org.assignment;
 
+import org.assignment.repository.RepositoryRuntimeHints;
+import org.springframework.boot.LazyInitializationExcludeFilter;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.Arrays;
 
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(RepositoryRuntimeHints.class)
 public class CalendarApplication {
     public static void main(String[] args) {
         SpringApplication.run(CalendarApplication.class, args);
     }
+
+    /**
+     * Scheduled methods are only registered when their bean is created, so beans with
+     * {@link Scheduled} jobs stay eager under {@code spring.main.lazy-initialization}.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeans() {
+        return (beanName, beanDefinition, beanType) -> Arrays.stream(ReflectionUtils.getUniqueDeclaredMethods(beanType))
+                .anyMatch(method -> AnnotatedElementUtils.hasAnnotation(method, Scheduled.class));
+    }
 }
@@ -0,0 +1,61 @@
+package org.assignment.controller;
+
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.assignment.datamanager.BookingStatusDTO;
+import org.assignment.datamanager.MeetingDTO;
+import org.assignment.service.AsyncBookingService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/calendar/meetings/async")
+@ConditionalOnProperty(prefix = "calendar.async-booking", name = "enabled", havingValue = "true")
+@Slf4j
+public class AsyncBookingController {
+    private final AsyncBookingService asyncBookingService;
+
+    public AsyncBookingController(AsyncBookingService asyncBookingService) {
+        this.asyncBookingService = asyncBookingService;
+    }
+
+    @PostMapping
+    public ResponseEntity<BookingStatusDTO> submitBooking(
+            @RequestParam Long ownerId,
+            @Valid @RequestBody MeetingDTO meetingDTO) {
+        log.info("Received asynchronous booking request. Owner ID: {}, Meeting Title: {}",
+                ownerId, meetingDTO.getTitle());
+
+        AsyncBookingService.BookingStatus status = asyncBookingService.submit(ownerId, meetingDTO);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/calendar/meetings/async/" + status.provisionalId()))
+                .body(convertToBookingStatusDTO(status));
+    }
+
+    @GetMapping("/{provisionalId}")
+    public ResponseEntity<BookingStatusDTO> getBookingStatus(@PathVariable String provisionalId) {
+        return asyncBookingService.status(provisionalId)
+                .map(status -> ResponseEntity.ok(convertToBookingStatusDTO(status)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private BookingStatusDTO convertToBookingStatusDTO(AsyncBookingService.BookingStatus status) {
+        BookingStatusDTO dto = new BookingStatusDTO();
+        dto.setProvisionalId(status.provisionalId());
+        dto.setStatus(status.state().name());
+        dto.setMeetingId(status.meetingId());
+        dto.setReason(status.reason());
+        dto.setAcceptedAt(status.acceptedAt());
+        dto.setCompletedAt(status.completedAt());
+        return dto;
+    }
+}
@@ -1,25 +1,50 @@
 package org.assignment.controller;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.assignment.datamanager.BatchMeetingRequestDTO;
+import org.assignment.datamanager.BatchScheduleRequestDTO;
+import org.assignment.datamanager.BatchScheduleResponseDTO;
 import org.assignment.datamanager.EmployeeDTO;
 import org.assignment.datamanager.MeetingDTO;
 import org.assignment.datamanager.MeetingResponseDTO;
+import org.assignment.datamanager.RoomDTO;
+import org.assignment.datamanager.UnscheduledMeetingDTO;
+import org.assignment.domainmodel.ArchivedMeeting;
 import org.assignment.domainmodel.Employee;
 import org.assignment.domainmodel.Meeting;
+import org.assignment.domainmodel.Room;
+import org.assignment.ratelimit.AdmissionController;
 import org.assignment.repository.EmployeeRepository;
+import org.assignment.repository.RoomRepository;
+import org.assignment.service.BatchSchedulingService;
 import org.assignment.service.CalendarService;
+import org.assignment.service.FreeSlotCache;
+import org.assignment.service.IdempotencyService;
+import org.assignment.service.MeetingArchiveService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RestController
@@ -28,33 +53,89 @@ import java.util.stream.Collectors;
 public class CalendarController {
     private final CalendarService calendarService;
     private final EmployeeRepository employeeRepository;
+    private final RoomRepository roomRepository;
+    private final AdmissionController admissionController;
+    private final IdempotencyService idempotencyService;
+    private final MeetingArchiveService meetingArchiveService;
+    private final BatchSchedulingService batchSchedulingService;
+    private final FreeSlotCache freeSlotCache;
+    private final ObservationRegistry observationRegistry;
 
-    public CalendarController(CalendarService calendarService, EmployeeRepository employeeRepository) {
+    public CalendarController(CalendarService calendarService, EmployeeRepository employeeRepository,
+                              RoomRepository roomRepository, AdmissionController admissionController,
+                              IdempotencyService idempotencyService, MeetingArchiveService meetingArchiveService,
+                              BatchSchedulingService batchSchedulingService, FreeSlotCache freeSlotCache,
+                              ObjectProvider<ObservationRegistry> observationRegistry) {
         this.calendarService = calendarService;
         this.employeeRepository = employeeRepository;
+        this.roomRepository = roomRepository;
+        this.admissionController = admissionController;
+        this.idempotencyService = idempotencyService;
+        this.meetingArchiveService = meetingArchiveService;
+        this.batchSchedulingService = batchSchedulingService;
+        this.freeSlotCache = freeSlotCache;
+        this.observationRegistry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
     }
 
     @PostMapping("/meetings")
     public ResponseEntity<MeetingResponseDTO> bookMeeting(
             @RequestParam Long ownerId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody MeetingDTO meetingDTO) {
         log.info("Received request to book meeting. Owner ID: {}, Meeting Title: {}",
                 ownerId, meetingDTO.getTitle());
 
-        Meeting meeting = convertToMeeting(meetingDTO, ownerId);
-        Meeting bookedMeeting = calendarService.bookMeeting(ownerId, meeting);
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(book(ownerId, meetingDTO));
+        }
 
-        MeetingResponseDTO response = convertToMeetingResponseDTO(bookedMeeting);
-        log.info("Successfully booked meeting with ID: {}", bookedMeeting.getId());
+        IdempotencyService.Result result = idempotencyService.execute(idempotencyKey,
+                IdempotencyService.fingerprint(ownerId, meetingDTO),
+                () -> book(ownerId, meetingDTO));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header("Idempotent-Replayed", String.valueOf(result.replayed()))
+                .body(result.response());
+    }
+
+    @PostMapping("/meetings/batch")
+    public ResponseEntity<BatchScheduleResponseDTO> scheduleBatch(@Valid @RequestBody BatchScheduleRequestDTO batchDTO) {
+        log.info("Received batch scheduling request. Meetings: {}, Dry run: {}",
+                batchDTO.getMeetings().size(), batchDTO.isDryRun());
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        long cost = 0;
+        for (BatchMeetingRequestDTO request : batchDTO.getMeetings()) {
+            if (request.getWindowStart().isBefore(request.getWindowEnd())) {
+                cost += AdmissionController.estimateCost(
+                        Duration.between(request.getWindowStart(), request.getWindowEnd()),
+                        CalendarService.SLOT_INCREMENT, 1 + request.getParticipantIds().size());
+            }
+        }
+
+        BatchSchedulingService.BatchResult result;
+        try (AdmissionController.Permit ignored = admissionController.admitBulk("batch-schedule", cost)) {
+            result = batchSchedulingService.schedule(batchDTO.getMeetings(), batchDTO.isDryRun());
+        }
+
+        BatchScheduleResponseDTO response = new BatchScheduleResponseDTO();
+        response.setDryRun(batchDTO.isDryRun());
+        response.setScheduled(result.scheduled().stream()
+                .map(this::convertToMeetingResponseDTO)
+                .collect(Collectors.toList()));
+        response.setUnscheduled(result.unscheduled().stream()
+                .map(this::convertToUnscheduledMeetingDTO)
+                .collect(Collectors.toList()));
+
+        log.info("Scheduled {} meetings, {} could not be placed",
+                response.getScheduled().size(), response.getUnscheduled().size());
+        return ResponseEntity.status(batchDTO.isDryRun() ? HttpStatus.OK : HttpStatus.CREATED).body(response);
     }
 
     @GetMapping("/free-slots")
     public ResponseEntity<List<Map<String, Object>>> findFreeSlots(
             @RequestParam Long employee1Id,
             @RequestParam Long employee2Id,
-            @RequestParam int durationMinutes) {
+            @RequestParam int durationMinutes,
+            WebRequest webRequest) {
         log.info("Searching for free slots. Employee1 ID: {}, Employee2 ID: {}, Duration: {} minutes",
                 employee1Id, employee2Id, durationMinutes);
 
@@ -62,10 +143,60 @@ public class CalendarController {
             throw new IllegalArgumentException("Duration must be positive");
         }
 
-        List<Map<String, Object>> freeSlots = calendarService.findFreeSlots(
-                employee1Id, employee2Id, Duration.ofMinutes(durationMinutes));
+        // Unchanged schedules are answered from the version tag alone, before any admission cost.
+        FreeSlotCache.Key key = freeSlotCache.key(employee1Id, employee2Id, durationMinutes);
+        if (key.cacheable() && webRequest.checkNotModified(key.etag())) {
+            freeSlotCache.recordNotModified();
+            log.info("Free slots not modified");
+            return null;
+        }
+        Optional<List<Map<String, Object>>> cached = freeSlotCache.get(key);
+        if (cached.isPresent()) {
+            log.info("Found {} free slots in the cache", cached.get().size());
+            return freeSlotsResponse(key, cached.get());
+        }
+
+        long cost = AdmissionController.estimateCost(
+                CalendarService.SEARCH_HORIZON, CalendarService.SLOT_INCREMENT, 2);
+        List<Map<String, Object>> freeSlots;
+        try (AdmissionController.Permit ignored = admissionController.admit("free-slots", cost)) {
+            freeSlots = calendarService.findFreeSlots(
+                    employee1Id, employee2Id, Duration.ofMinutes(durationMinutes));
+        }
+        freeSlotCache.put(key, freeSlots);
 
         log.info("Found {} free slots", freeSlots.size());
+        return freeSlotsResponse(key, freeSlots);
+    }
+
+    @GetMapping("/free-slots/with-room")
+    public ResponseEntity<List<Map<String, Object>>> findFreeSlotsWithRoom(
+            @RequestParam List<Long> participantIds,
+            @RequestParam int durationMinutes,
+            @RequestParam(required = false) Integer minCapacity) {
+        log.info("Searching for free slots with a room. Participant IDs: {}, Duration: {} minutes, Minimum capacity: {}",
+                participantIds, durationMinutes, minCapacity);
+
+        if (durationMinutes <= 0) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        if (participantIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one participant is required");
+        }
+        int capacity = minCapacity != null ? minCapacity : participantIds.size();
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Minimum capacity must be positive");
+        }
+
+        long cost = AdmissionController.estimateCost(
+                CalendarService.SEARCH_HORIZON, CalendarService.SLOT_INCREMENT, participantIds.size() + 1);
+        List<Map<String, Object>> freeSlots;
+        try (AdmissionController.Permit ignored = admissionController.admit("free-slots-with-room", cost)) {
+            freeSlots = calendarService.findFreeSlotsWithRoom(
+                    participantIds, Duration.ofMinutes(durationMinutes), capacity);
+        }
+
+        log.info("Found {} free slots with a room", freeSlots.size());
         return ResponseEntity.ok(freeSlots);
     }
 
@@ -74,16 +205,71 @@ public class CalendarController {
         log.info("Checking conflicts for meeting. Title: {}, Start: {}, End: {}",
                 meetingDTO.getTitle(), meetingDTO.getStartTime(), meetingDTO.getEndTime());
 
-        Meeting meeting = convertToMeeting(meetingDTO, meetingDTO.getOwnerId());
-        List<EmployeeDTO> conflicts = calendarService.findConflicts(meeting).stream()
-                .map(this::convertToEmployeeDTO)
-                .collect(Collectors.toList());
+        int participants = 1 + (meetingDTO.getParticipantIds() != null ? meetingDTO.getParticipantIds().size() : 0);
+        long cost = AdmissionController.estimateConflictCost(participants);
+
+        List<EmployeeDTO> conflicts;
+        try (AdmissionController.Permit ignored = admissionController.admit("conflicts", cost)) {
+            Meeting meeting = convertToMeeting(meetingDTO, meetingDTO.getOwnerId());
+            conflicts = calendarService.findConflicts(meeting).stream()
+                    .map(this::convertToEmployeeDTO)
+                    .collect(Collectors.toList());
+        }
 
         log.info("Found {} conflicting employees for meeting '{}'",
                 conflicts.size(), meetingDTO.getTitle());
         return ResponseEntity.ok(conflicts);
     }
 
+    @GetMapping("/meetings/history")
+    public ResponseEntity<List<MeetingResponseDTO>> findHistoricalMeetings(
+            @RequestParam Long employeeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Searching archived meetings. Employee ID: {}, From: {}, To: {}", employeeId, from, to);
+
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+
+        List<ArchivedMeeting> archivedMeetings = meetingArchiveService.findHistoricalMeetings(employeeId, from, to);
+        Set<Long> employeeIds = new HashSet<>();
+        for (ArchivedMeeting archivedMeeting : archivedMeetings) {
+            employeeIds.add(archivedMeeting.getOwnerId());
+            employeeIds.addAll(archivedMeeting.getParticipantIds());
+        }
+        Map<Long, EmployeeDTO> employees = employeeRepository.findAllById(employeeIds).stream()
+                .map(this::convertToEmployeeDTO)
+                .collect(Collectors.toMap(EmployeeDTO::getId, Function.identity()));
+
+        List<MeetingResponseDTO> history = archivedMeetings.stream()
+                .map(archivedMeeting -> convertToMeetingResponseDTO(archivedMeeting, employees))
+                .collect(Collectors.toList());
+
+        log.info("Found {} archived meetings for employee {}", history.size(), employeeId);
+        return ResponseEntity.ok(history);
+    }
+
+    private ResponseEntity<List<Map<String, Object>>> freeSlotsResponse(FreeSlotCache.Key key,
+                                                                      List<Map<String, Object>> freeSlots) {
+        if (!key.cacheable()) {
+            return ResponseEntity.ok(freeSlots);
+        }
+        return ResponseEntity.ok()
+                .eTag(key.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(freeSlots);
+    }
+
+    private MeetingResponseDTO book(Long ownerId, MeetingDTO meetingDTO) {
+        Meeting meeting = convertToMeeting(meetingDTO, ownerId);
+        Meeting bookedMeeting = calendarService.bookMeeting(ownerId, meeting);
+
+        MeetingResponseDTO response = convertToMeetingResponseDTO(bookedMeeting);
+        log.info("Successfully booked meeting with ID: {}", bookedMeeting.getId());
+        return response;
+    }
+
     private MeetingResponseDTO convertToMeetingResponseDTO(Meeting meeting) {
         MeetingResponseDTO dto = new MeetingResponseDTO();
         dto.setId(meeting.getId());
@@ -94,11 +280,35 @@ public class CalendarController {
         dto.setParticipants(meeting.getParticipants().stream()
                 .map(this::convertToEmployeeDTO)
                 .collect(Collectors.toList()));
+        if (meeting.getRoom() != null) {
+            dto.setRoom(convertToRoomDTO(meeting.getRoom()));
+        }
+        return dto;
+    }
+
+    private MeetingResponseDTO convertToMeetingResponseDTO(ArchivedMeeting meeting, Map<Long, EmployeeDTO> employees) {
+        MeetingResponseDTO dto = new MeetingResponseDTO();
+        dto.setId(meeting.getId());
+        dto.setTitle(meeting.getTitle());
+        dto.setStartTime(meeting.getStartTime());
+        dto.setEndTime(meeting.getEndTime());
+        dto.setOwner(employees.get(meeting.getOwnerId()));
+        dto.setParticipants(meeting.getParticipantIds().stream()
+                .map(employees::get)
+                .collect(Collectors.toList()));
         return dto;
     }
 
     private Meeting convertToMeeting(MeetingDTO meetingDTO, Long ownerId) {
         log.debug("Converting MeetingDTO to Meeting entity. Owner ID: {}", ownerId);
+        // Attendee lookups get their own span so they can be told apart from the scheduling work.
+        return Observation.createNotStarted("calendar.resolve-attendees", observationRegistry)
+                .highCardinalityKeyValue("calendar.attendees",
+                        String.valueOf(1 + meetingDTO.getParticipantIds().size()))
+                .observe(() -> resolveAttendees(meetingDTO, ownerId));
+    }
+
+    private Meeting resolveAttendees(MeetingDTO meetingDTO, Long ownerId) {
         Meeting meeting = new Meeting();
         meeting.setTitle(meetingDTO.getTitle());
         meeting.setStartTime(meetingDTO.getStartTime());
@@ -114,6 +324,12 @@ public class CalendarController {
         }
         meeting.setParticipants(participants);
 
+        if (meetingDTO.getRoomId() != null) {
+            Room room = roomRepository.findById(meetingDTO.getRoomId())
+                    .orElseThrow(() -> new IllegalArgumentException("Room not found with ID: " + meetingDTO.getRoomId()));
+            meeting.setRoom(room);
+        }
+
         return meeting;
     }
 
@@ -123,4 +339,20 @@ public class CalendarController {
         dto.setName(employee.getName());
         return dto;
     }
+
+    private UnscheduledMeetingDTO convertToUnscheduledMeetingDTO(BatchSchedulingService.Unscheduled unscheduled) {
+        UnscheduledMeetingDTO dto = new UnscheduledMeetingDTO();
+        dto.setRequestIndex(unscheduled.requestIndex());
+        dto.setTitle(unscheduled.title());
+        dto.setReason(unscheduled.reason());
+        return dto;
+    }
+
+    private RoomDTO convertToRoomDTO(Room room) {
+        RoomDTO dto = new RoomDTO();
+        dto.setId(room.getId());
+        dto.setName(room.getName());
+        dto.setCapacity(room.getCapacity());
+        return dto;
+    }
 }
@@ -0,0 +1,31 @@
+package org.assignment.datamanager;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BatchMeetingRequestDTO {
+    private String title;
+
+    @NotNull(message = "Owner must not be null")
+    private Long ownerId;
+
+    @NotNull(message = "Participants must not be null")
+    private List<Long> participantIds = new ArrayList<>();
+
+    @Positive(message = "Duration must be positive")
+    private int durationMinutes;
+
+    @NotNull(message = "Window start must not be null")
+    private LocalDateTime windowStart;
+
+    @NotNull(message = "Window end must not be null")
+    private LocalDateTime windowEnd;
+
+    private int priority;
+}
@@ -0,0 +1,16 @@
+package org.assignment.datamanager;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchScheduleRequestDTO {
+    @NotEmpty(message = "At least one meeting request is required")
+    @Valid
+    private List<BatchMeetingRequestDTO> meetings;
+
+    private boolean dryRun;
+}
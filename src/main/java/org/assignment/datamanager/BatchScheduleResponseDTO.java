@@ -0,0 +1,15 @@
+package org.assignment.datamanager;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class BatchScheduleResponseDTO {
+    private boolean dryRun;
+    private List<MeetingResponseDTO> scheduled = new ArrayList<>();
+    private List<UnscheduledMeetingDTO> unscheduled = new ArrayList<>();
+}
@@ -0,0 +1,17 @@
+package org.assignment.datamanager;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+public class BookingStatusDTO {
+    private String provisionalId;
+    private String status;
+    private Long meetingId;
+    private String reason;
+    private LocalDateTime acceptedAt;
+    private LocalDateTime completedAt;
+}
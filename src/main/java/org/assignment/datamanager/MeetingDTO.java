@@ -21,4 +21,6 @@ public class MeetingDTO {
     private Long ownerId;
 
     private List<Long> participantIds;
+
+    private Long roomId;
 }
@@ -15,4 +15,5 @@ public class MeetingResponseDTO {
     private LocalDateTime endTime;
     private EmployeeDTO owner;
     private List<EmployeeDTO> participants;
+    private RoomDTO room;
 }
@@ -0,0 +1,12 @@
+package org.assignment.datamanager;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class RoomDTO {
+    private Long id;
+    private String name;
+    private int capacity;
+}
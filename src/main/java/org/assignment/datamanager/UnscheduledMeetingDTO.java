@@ -0,0 +1,12 @@
+package org.assignment.datamanager;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class UnscheduledMeetingDTO {
+    private int requestIndex;
+    private String title;
+    private String reason;
+}
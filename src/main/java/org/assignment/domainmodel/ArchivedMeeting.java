@@ -0,0 +1,59 @@
+package org.assignment.domainmodel;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cold copy of a {@link Meeting} that ended before the archival cutoff.
+ * Keeps the original meeting ID and references employees by ID only.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_archived_meeting_tenant_owner_time", columnList = "tenant_id, owner_id, start_time, end_time"),
+        @Index(name = "idx_archived_meeting_tenant_time", columnList = "tenant_id, start_time, end_time")
+})
+@Getter
+@Setter
+public class ArchivedMeeting implements TenantScoped {
+    @Id
+    private Long id;
+    private String title;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    private String tenantId;
+
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Column(name = "room_id")
+    private Long roomId;
+
+    @ElementCollection
+    @CollectionTable(name = "archived_meeting_participants",
+            joinColumns = @JoinColumn(name = "archived_meeting_id"),
+            indexes = @Index(name = "idx_archived_participant", columnList = "participant_id"))
+    @Column(name = "participant_id")
+    private List<Long> participantIds;
+
+    private LocalDateTime archivedAt;
+
+    @Override
+    public String toString() {
+        return "ArchivedMeeting{id=" + id + ", title='" + title + "', startTime=" + startTime + ", endTime=" + endTime + ", ownerId=" + ownerId + "}";
+    }
+}
@@ -0,0 +1,42 @@
+package org.assignment.domainmodel;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(indexes = @Index(name = "idx_idempotency_record_created_at", columnList = "created_at"))
+@Getter
+@Setter
+public class IdempotencyRecord {
+    /**
+     * Length of the key column, which holds the tenant-scoped key.
+     */
+    public static final int MAX_KEY_LENGTH = 255;
+
+    @Id
+    @Column(length = MAX_KEY_LENGTH)
+    private String idempotencyKey;
+
+    @Column(nullable = false)
+    private String requestFingerprint;
+
+    @Lob
+    @Column(nullable = false)
+    private String responseBody;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Override
+    public String toString() {
+        return "IdempotencyRecord{idempotencyKey='" + idempotencyKey + "', createdAt=" + createdAt + "}";
+    }
+}
@@ -1,21 +1,34 @@
 package org.assignment.domainmodel;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.TenantId;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        // Archival scans all tenants by end time.
+        @Index(name = "idx_meeting_end_time", columnList = "end_time"),
+        @Index(name = "idx_meeting_tenant_end_time", columnList = "tenant_id, end_time"),
+        @Index(name = "idx_meeting_tenant_owner_time", columnList = "tenant_id, owner_id, start_time, end_time"),
+        @Index(name = "idx_meeting_tenant_room_time", columnList = "tenant_id, room_id, start_time, end_time")
+})
 @Getter
 @Setter
-public class Meeting {
+public class Meeting implements TenantScoped {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -23,15 +36,25 @@ public class Meeting {
     private LocalDateTime startTime;
     private LocalDateTime endTime;
 
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    private String tenantId;
+
     @JsonBackReference
     @ManyToOne
     private Employee owner;
 
+    @ManyToOne
+    private Room room;
+
     @ManyToMany
+    @JoinTable(name = "meeting_participants",
+            joinColumns = @JoinColumn(name = "meeting_id"),
+            inverseJoinColumns = @JoinColumn(name = "participants_id"))
     private List<Employee> participants;
 
     @Override
     public String toString() {
-        return "Meeting{id=" + id + ", title='" + title + "', startTime=" + startTime + ", endTime=" + endTime + ", ownerId=" + (owner != null ? owner.getId() : null) + "}";
+        return "Meeting{id=" + id + ", title='" + title + "', startTime=" + startTime + ", endTime=" + endTime + ", ownerId=" + (owner != null ? owner.getId() : null) + ", roomId=" + (room != null ? room.getId() : null) + "}";
     }
 }
@@ -0,0 +1,33 @@
+package org.assignment.domainmodel;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.TenantId;
+
+@Entity
+@Table(indexes = @Index(name = "idx_room_tenant_capacity", columnList = "tenant_id, capacity"))
+@Getter
+@Setter
+public class Room implements TenantScoped {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String name;
+    private int capacity;
+
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    private String tenantId;
+
+    @Override
+    public String toString() {
+        return "Room{id=" + id + ", name='" + name + "', capacity=" + capacity + "}";
+    }
+}
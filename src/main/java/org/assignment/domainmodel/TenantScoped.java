@@ -0,0 +1,8 @@
+package org.assignment.domainmodel;
+
+/**
+ * An entity that belongs to exactly one tenant.
+ */
+public interface TenantScoped {
+    String getTenantId();
+}
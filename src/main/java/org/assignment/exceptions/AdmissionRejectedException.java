@@ -0,0 +1,7 @@
+package org.assignment.exceptions;
+
+public class AdmissionRejectedException extends RuntimeException {
+    public AdmissionRejectedException(String message) {
+        super(message);
+    }
+}
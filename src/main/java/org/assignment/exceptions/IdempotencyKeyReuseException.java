@@ -0,0 +1,7 @@
+package org.assignment.exceptions;
+
+public class IdempotencyKeyReuseException extends RuntimeException {
+    public IdempotencyKeyReuseException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.assignment.exceptions;
+
+public class MeetingConflictException extends RuntimeException {
+    public MeetingConflictException(String message) {
+        super(message);
+    }
+}
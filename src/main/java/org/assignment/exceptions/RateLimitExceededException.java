@@ -0,0 +1,7 @@
+package org.assignment.exceptions;
+
+public class RateLimitExceededException extends RuntimeException {
+    public RateLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,231 @@
+package org.assignment.ratelimit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.assignment.exceptions.AdmissionRejectedException;
+import org.assignment.tenant.TenantContext;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds the total amount of scheduling work in flight.
+ * Every expensive request is given a cost estimate (slots to scan times participants) and
+ * must reserve that much of a shared budget before it runs. Requests that exceed the
+ * per-request limit are refused outright; requests that do not fit into the remaining
+ * budget wait up to {@code queueTimeoutMillis} and are rejected after that.
+ * <p>
+ * Each tenant also has a budget of its own that its requests reserve first, so one tenant
+ * cannot take the whole shared budget and starve the others.
+ * <p>
+ * Bulk operations reserve their full cost from a separate bulk budget. Towards interactive
+ * requests they weigh at most as much as the most expensive single request: a batch reads
+ * busy times once and plans in memory on its own pool, so its summed cost says little about
+ * the load it puts on the database.
+ */
+@Slf4j
+@Component
+public class AdmissionController implements MeterBinder {
+
+    private final RateLimitProperties properties;
+    private final Semaphore budget;
+    private final Semaphore bulkBudget;
+    private final Map<String, Semaphore> tenantBudgets = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public AdmissionController(RateLimitProperties properties) {
+        this.properties = properties;
+        this.budget = new Semaphore(Math.toIntExact(properties.getMaxConcurrentCost()), true);
+        this.bulkBudget = new Semaphore(Math.toIntExact(properties.getBulkMaxConcurrentCost()), true);
+    }
+
+    /**
+     * Estimates the work of a slot search as the number of slots scanned per participant
+     * multiplied by the number of participants.
+     */
+    public static long estimateCost(Duration horizon, Duration granularity, int participants) {
+        long granularityMinutes = Math.max(1, granularity.toMinutes());
+        long slots = Math.max(1, (horizon.toMinutes() + granularityMinutes - 1) / granularityMinutes);
+        return slots * Math.max(1, participants);
+    }
+
+    /**
+     * Estimates the work of a conflict check. It scans no slot grid: it runs one indexed overlap
+     * query per participant over the meeting's own time range, so it costs one unit, the cost of
+     * one slot checked for one participant, per participant.
+     */
+    public static long estimateConflictCost(int participants) {
+        return Math.max(1, participants);
+    }
+
+    public Permit admit(String operation, long cost) {
+        if (!properties.isEnabled()) {
+            return Permit.NONE;
+        }
+        String tenant = TenantContext.current();
+        long requestLimit = Math.min(properties.getMaxRequestCost(), properties.tenantMaxConcurrentCost(tenant));
+        if (cost > requestLimit) {
+            rejected.incrementAndGet();
+            log.warn("Refusing {} with estimated cost {} above the per-request limit {}",
+                    operation, cost, requestLimit);
+            throw new IllegalArgumentException("Request is too expensive, please narrow the search");
+        }
+        return reserve(operation, tenant, cost);
+    }
+
+    /**
+     * Admits a bulk operation. Its full cost is reserved from the bulk budget, waiting for running
+     * batches up to {@code queueTimeoutMillis}; a batch larger than the whole bulk budget is
+     * refused outright. It also holds a share of the shared and tenant budgets capped at the
+     * per-request limit, so interactive admission still accounts for it.
+     */
+    public Permit admitBulk(String operation, long cost) {
+        if (!properties.isEnabled()) {
+            return Permit.NONE;
+        }
+        if (cost > properties.getBulkMaxConcurrentCost()) {
+            rejected.incrementAndGet();
+            log.warn("Refusing {} with estimated cost {} above the bulk budget {}",
+                    operation, cost, properties.getBulkMaxConcurrentCost());
+            throw new IllegalArgumentException("Batch is too expensive, please split it into smaller batches");
+        }
+
+        int bulkPermits = (int) Math.max(1, cost);
+        boolean acquired = false;
+        try {
+            acquired = bulkBudget.tryAcquire(bulkPermits, properties.getQueueTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!acquired) {
+            rejected.incrementAndGet();
+            log.warn("Rejecting {} with estimated cost {}, available bulk budget {}",
+                    operation, cost, bulkBudget.availablePermits());
+            throw new AdmissionRejectedException("Server is busy, please retry later");
+        }
+
+        String tenant = TenantContext.current();
+        long share = Math.min(cost, Math.min(properties.getMaxRequestCost(), properties.tenantMaxConcurrentCost(tenant)));
+        try {
+            return reserve(operation, tenant, share).withBulk(bulkBudget, bulkPermits);
+        } catch (RuntimeException e) {
+            bulkBudget.release(bulkPermits);
+            throw e;
+        }
+    }
+
+    private Permit reserve(String operation, String tenant, long cost) {
+        int permits = (int) Math.max(1, cost);
+        Semaphore tenantBudget = tenantBudgets.computeIfAbsent(tenant, key ->
+                new Semaphore(Math.toIntExact(properties.tenantMaxConcurrentCost(key)), true));
+        boolean tenantAcquired = false;
+        boolean acquired = false;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getQueueTimeoutMillis());
+        queued.incrementAndGet();
+        try {
+            tenantAcquired = tenantBudget.tryAcquire(permits, deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            acquired = tenantAcquired
+                    && budget.tryAcquire(permits, deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            queued.decrementAndGet();
+            if (tenantAcquired && !acquired) {
+                tenantBudget.release(permits);
+            }
+        }
+
+        if (!acquired) {
+            rejected.incrementAndGet();
+            log.warn("Rejecting {} of tenant {} with estimated cost {}, available budget {}, available tenant budget {}",
+                    operation, tenant, cost, budget.availablePermits(), tenantBudget.availablePermits());
+            throw new AdmissionRejectedException("Server is busy, please retry later");
+        }
+        admitted.incrementAndGet();
+        return new Permit(budget, tenantBudget, permits);
+    }
+
+    public int availableBudget() {
+        return budget.availablePermits();
+    }
+
+    public int availableBulkBudget() {
+        return bulkBudget.availablePermits();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("calendar.admission.budget.available", budget, Semaphore::availablePermits)
+                .description("Unreserved work budget")
+                .register(registry);
+        Gauge.builder("calendar.admission.budget.used", budget,
+                        semaphore -> properties.getMaxConcurrentCost() - semaphore.availablePermits())
+                .description("Work budget reserved by requests in flight")
+                .register(registry);
+        Gauge.builder("calendar.admission.bulk-budget.available", bulkBudget, Semaphore::availablePermits)
+                .description("Unreserved bulk work budget")
+                .register(registry);
+        Gauge.builder("calendar.admission.queued", queued, AtomicInteger::get)
+                .description("Requests waiting for budget")
+                .register(registry);
+        FunctionCounter.builder("calendar.admission.requests", admitted, AtomicLong::get)
+                .tag("outcome", "admitted")
+                .register(registry);
+        FunctionCounter.builder("calendar.admission.requests", rejected, AtomicLong::get)
+                .tag("outcome", "rejected")
+                .register(registry);
+    }
+
+    /**
+     * Reserved shared, tenant and bulk budget; released exactly once when closed.
+     */
+    public static class Permit implements AutoCloseable {
+        static final Permit NONE = new Permit(null, null, 0);
+
+        private final Semaphore budget;
+        private final Semaphore tenantBudget;
+        private final int permits;
+        private final Semaphore bulkBudget;
+        private final int bulkPermits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(Semaphore budget, Semaphore tenantBudget, int permits) {
+            this(budget, tenantBudget, permits, null, 0);
+        }
+
+        private Permit(Semaphore budget, Semaphore tenantBudget, int permits, Semaphore bulkBudget, int bulkPermits) {
+            this.budget = budget;
+            this.tenantBudget = tenantBudget;
+            this.permits = permits;
+            this.bulkBudget = bulkBudget;
+            this.bulkPermits = bulkPermits;
+        }
+
+        Permit withBulk(Semaphore bulkBudget, int bulkPermits) {
+            return new Permit(budget, tenantBudget, permits, bulkBudget, bulkPermits);
+        }
+
+        @Override
+        public void close() {
+            if (budget != null && released.compareAndSet(false, true)) {
+                budget.release(permits);
+                tenantBudget.release(permits);
+                if (bulkBudget != null) {
+                    bulkBudget.release(bulkPermits);
+                }
+            }
+        }
+    }
+}
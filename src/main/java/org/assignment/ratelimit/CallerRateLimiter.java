@@ -0,0 +1,126 @@
+package org.assignment.ratelimit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.assignment.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps one {@link TokenBucket} per caller of each tenant, and one per tenant that all of its
+ * callers draw from. At most {@code maxTrackedCallers} caller buckets are kept; callers that
+ * arrive while the map is full share one overflow bucket per tenant instead of getting a
+ * fresh one. {@link #sweepIdleCallers()} periodically drops buckets that have refilled
+ * completely, since a fresh bucket would behave identically.
+ */
+@Slf4j
+@Component
+public class CallerRateLimiter implements MeterBinder {
+
+    private final RateLimitProperties properties;
+    private final LongSupplier clock;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> overflowBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> tenantBuckets = new ConcurrentHashMap<>();
+    private final AtomicLong allowed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong overflowed = new AtomicLong();
+
+    @Autowired
+    public CallerRateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    CallerRateLimiter(RateLimitProperties properties, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    public boolean tryAcquire(String caller) {
+        long now = clock.getAsLong();
+        String tenant = TenantContext.current();
+        TokenBucket bucket = callerBucket(tenant, tenant + "/" + caller, now);
+        if (!bucket.tryConsume(now)) {
+            rejected.incrementAndGet();
+            log.warn("Rate limit exceeded for caller {} of tenant {}", caller, tenant);
+            return false;
+        }
+
+        // Checked second, so a caller that is over its own limit does not use up its tenant's tokens.
+        TokenBucket tenantBucket = tenantBuckets.computeIfAbsent(tenant, ignored -> new TokenBucket(
+                properties.tenantBurstCapacity(tenant), properties.tenantRefillPerSecond(tenant), now));
+        if (!tenantBucket.tryConsume(now)) {
+            rejected.incrementAndGet();
+            log.warn("Rate limit exceeded for tenant {}", tenant);
+            return false;
+        }
+        allowed.incrementAndGet();
+        return true;
+    }
+
+    public int trackedCallers() {
+        return buckets.size();
+    }
+
+    /**
+     * Drops buckets that have refilled completely. Runs off the request path, so a full map
+     * never costs a request more than a lookup.
+     */
+    @Scheduled(fixedDelayString = "${calendar.rate-limit.sweep-interval:PT1M}")
+    public void sweepIdleCallers() {
+        long now = clock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        overflowBuckets.values().removeIf(bucket -> bucket.isFull(now));
+        log.debug("Dropped {} idle caller buckets", before - buckets.size());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("calendar.ratelimit.callers", buckets, Map::size)
+                .description("Callers with an active token bucket")
+                .register(registry);
+        Gauge.builder("calendar.ratelimit.exhausted.callers", this, CallerRateLimiter::exhaustedCallers)
+                .description("Callers that currently have less than one token left")
+                .register(registry);
+        FunctionCounter.builder("calendar.ratelimit.requests", allowed, AtomicLong::get)
+                .tag("outcome", "allowed")
+                .register(registry);
+        FunctionCounter.builder("calendar.ratelimit.requests", rejected, AtomicLong::get)
+                .tag("outcome", "rejected")
+                .register(registry);
+        FunctionCounter.builder("calendar.ratelimit.overflow.requests", overflowed, AtomicLong::get)
+                .description("Requests of untracked callers, limited by the shared overflow bucket")
+                .register(registry);
+    }
+
+    private TokenBucket callerBucket(String tenant, String key, long now) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= properties.getMaxTrackedCallers()) {
+            overflowed.incrementAndGet();
+            return overflowBuckets.computeIfAbsent(tenant, ignored -> newCallerBucket(now));
+        }
+        return buckets.computeIfAbsent(key, ignored -> newCallerBucket(now));
+    }
+
+    private TokenBucket newCallerBucket(long now) {
+        return new TokenBucket(properties.getBurstCapacity(), properties.getRefillPerSecond(), now);
+    }
+
+    private long exhaustedCallers() {
+        long now = clock.getAsLong();
+        return buckets.values().stream().filter(bucket -> bucket.availableTokens(now) < 1).count();
+    }
+}
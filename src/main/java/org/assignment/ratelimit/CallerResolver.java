@@ -0,0 +1,35 @@
+package org.assignment.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.util.StringUtils;
+
+import java.security.Principal;
+
+/**
+ * Identifies the client behind a request: by its authenticated principal, or else by its
+ * remote address. The caller header is only honoured when {@code trustCallerHeader} is set,
+ * which is meant for deployments behind a gateway that sets the header itself and strips it
+ * from client requests. Taken from clients directly, a caller could claim any identity.
+ */
+public class CallerResolver {
+
+    private final RateLimitProperties properties;
+
+    public CallerResolver(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    public String resolve(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return principal.getName();
+        }
+        if (properties.isTrustCallerHeader()) {
+            String caller = request.getHeader(properties.getCallerHeader());
+            if (StringUtils.hasText(caller)) {
+                return caller;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
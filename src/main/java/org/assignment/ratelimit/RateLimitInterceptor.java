@@ -0,0 +1,37 @@
+package org.assignment.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.assignment.exceptions.RateLimitExceededException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Applies the per-caller token bucket before a calendar request reaches the controller.
+ * Callers are identified by {@link CallerResolver}; a caller that could pick its own identity
+ * could get a fresh bucket on every request.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final CallerRateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final CallerResolver callerResolver;
+
+    public RateLimitInterceptor(CallerRateLimiter rateLimiter, RateLimitProperties properties) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.callerResolver = new CallerResolver(properties);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        if (!rateLimiter.tryAcquire(callerResolver.resolve(request))) {
+            throw new RateLimitExceededException("Rate limit exceeded, please retry later");
+        }
+        return true;
+    }
+}
@@ -0,0 +1,68 @@
+package org.assignment.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings for per-caller rate limiting and cost-based admission control,
+ * bound from {@code calendar.rate-limit.*}.
+ * <p>
+ * On top of the per-caller buckets and the shared work budget, every tenant has a request
+ * rate and a work budget of its own. The {@code tenant*} defaults apply to all tenants and
+ * can be overridden per tenant under {@code tenants.<tenant-id>.*}.
+ * <p>
+ * Batch scheduling plans from one busy-time read on a pool of its own, so its planning work is
+ * bounded by a separate {@code bulkMaxConcurrentCost} budget rather than the interactive one.
+ * <p>
+ * {@code callerHeader} is only used with {@code trustCallerHeader}; leave that off unless a
+ * gateway in front of the service sets the header and strips client-supplied values.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "calendar.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private String callerHeader = "X-Caller-Id";
+    private boolean trustCallerHeader = false;
+    private int burstCapacity = 20;
+    private double refillPerSecond = 10;
+    private int maxTrackedCallers = 10_000;
+    private long maxConcurrentCost = 12_000;
+    private long maxRequestCost = 6_000;
+    private long queueTimeoutMillis = 500;
+    private long bulkMaxConcurrentCost = 4_000_000;
+    private int tenantBurstCapacity = 400;
+    private double tenantRefillPerSecond = 200;
+    private long tenantMaxConcurrentCost = 6_000;
+    private Map<String, TenantLimits> tenants = new HashMap<>();
+
+    /**
+     * Limits of one tenant; unset values fall back to the {@code tenant*} defaults.
+     */
+    @Data
+    public static class TenantLimits {
+        private Integer burstCapacity;
+        private Double refillPerSecond;
+        private Long maxConcurrentCost;
+    }
+
+    public int tenantBurstCapacity(String tenant) {
+        TenantLimits limits = tenants.get(tenant);
+        return limits != null && limits.getBurstCapacity() != null ? limits.getBurstCapacity() : tenantBurstCapacity;
+    }
+
+    public double tenantRefillPerSecond(String tenant) {
+        TenantLimits limits = tenants.get(tenant);
+        return limits != null && limits.getRefillPerSecond() != null ? limits.getRefillPerSecond() : tenantRefillPerSecond;
+    }
+
+    public long tenantMaxConcurrentCost(String tenant) {
+        TenantLimits limits = tenants.get(tenant);
+        return limits != null && limits.getMaxConcurrentCost() != null
+                ? limits.getMaxConcurrentCost() : tenantMaxConcurrentCost;
+    }
+}
@@ -0,0 +1,25 @@
+package org.assignment.replica;
+
+/**
+ * The client a request is served for, so writes can be attributed to it and its later reads
+ * kept off a replica that has not caught up with them yet.
+ */
+public final class CallerContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private CallerContext() {
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    static void set(String caller) {
+        CURRENT.set(caller);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,32 @@
+package org.assignment.replica;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.assignment.ratelimit.CallerResolver;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Binds the calling client to the request thread. Callers are identified the same way as for
+ * rate limiting, through {@link CallerResolver}, so a client cannot read through another
+ * caller's recent writes by sending that caller's header.
+ */
+class CallerContextInterceptor implements HandlerInterceptor {
+
+    private final CallerResolver callerResolver;
+
+    CallerContextInterceptor(CallerResolver callerResolver) {
+        this.callerResolver = callerResolver;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        CallerContext.set(callerResolver.resolve(request));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        CallerContext.clear();
+    }
+}
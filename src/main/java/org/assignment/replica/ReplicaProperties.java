@@ -0,0 +1,22 @@
+package org.assignment.replica;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for sending read-only transactions to a replica, bound from {@code calendar.replica.*}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "calendar.replica")
+public class ReplicaProperties {
+    private boolean enabled = false;
+    private String url = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+    private String username = "sa";
+    private String password = "";
+    private Duration replicationInterval = Duration.ofSeconds(1);
+    private Duration maxLag = Duration.ofSeconds(5);
+}
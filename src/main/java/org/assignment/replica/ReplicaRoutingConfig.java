@@ -0,0 +1,98 @@
+package org.assignment.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.assignment.ratelimit.CallerResolver;
+import org.assignment.ratelimit.RateLimitProperties;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+
+/**
+ * Replaces the single datasource with a primary and a replica pool behind a routing
+ * datasource when {@code calendar.replica.enabled} is set. The primary is configured through
+ * the usual {@code spring.datasource.*} properties, the replica through {@code calendar.replica.*}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "calendar.replica", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig implements WebMvcConfigurer {
+
+    private final ReplicaProperties properties;
+    private final RateLimitProperties rateLimitProperties;
+
+    public ReplicaRoutingConfig(ReplicaProperties properties, RateLimitProperties rateLimitProperties) {
+        this.properties = properties;
+        this.rateLimitProperties = rateLimitProperties;
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicationTracker replicationTracker() {
+        return new ReplicationTracker(properties.getMaxLag(), Clock.systemDefaultZone());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicationTracker replicationTracker) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, replicationTracker));
+    }
+
+    @Bean
+    public ReplicationStandIn replicationStandIn(@Qualifier("primaryDataSource") DataSource primary,
+                                                 @Qualifier("replicaDataSource") DataSource replica,
+                                                 ReplicationTracker replicationTracker) {
+        return new ReplicationStandIn(primary, replica, replicationTracker, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Hibernate would otherwise hold one connection for the whole request under open-in-view,
+     * so a request that reads first and books afterwards would write through the replica.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new CallerContextInterceptor(new CallerResolver(rateLimitProperties)))
+                .addPathPatterns("/api/calendar/**");
+    }
+}
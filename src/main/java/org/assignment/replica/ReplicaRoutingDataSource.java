@@ -0,0 +1,86 @@
+package org.assignment.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica when {@link ReplicationTracker} allows it and
+ * everything else to the primary. Each committed read-write transaction counts as one write.
+ * Statements outside transactions are not tracked; after startup, which the first replication
+ * run covers, the application issues no writes that way.
+ * <p>
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * transaction managers fetch the connection before the read-only flag of the transaction is
+ * published, and the proxy defers the choice until the first statement.
+ */
+class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicationTracker tracker;
+
+    ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicationTracker tracker) {
+        this.tracker = tracker;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return tracker.useReplica(CallerContext.current()) ? Target.REPLICA : Target.PRIMARY;
+        }
+        return Target.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        trackWrite();
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = super.getConnection(username, password);
+        trackWrite();
+        return connection;
+    }
+
+    private void trackWrite() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        boolean tracked = TransactionSynchronizationManager.getSynchronizations().stream()
+                .anyMatch(WriteTracking.class::isInstance);
+        if (!tracked) {
+            TransactionSynchronizationManager.registerSynchronization(new WriteTracking(CallerContext.current()));
+        }
+    }
+
+    private final class WriteTracking implements TransactionSynchronization {
+        private final String caller;
+
+        WriteTracking(String caller) {
+            this.caller = caller;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == STATUS_COMMITTED) {
+                tracker.recordWrite(caller);
+            }
+        }
+    }
+}
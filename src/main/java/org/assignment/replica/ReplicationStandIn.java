@@ -0,0 +1,141 @@
+package org.assignment.replica;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Stands in for database replication between two H2 instances: whenever the primary has taken
+ * new writes, every table is copied from one snapshot of the primary into the replica in a
+ * single replica transaction, and the write sequence the snapshot included is reported to
+ * {@link ReplicationTracker}. The schema is copied once, on the first run. A real replica
+ * would report its replay position instead.
+ */
+@Slf4j
+public class ReplicationStandIn {
+
+    private static final int INSERT_BATCH_SIZE = 1_000;
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicationTracker tracker;
+    private final Clock clock;
+    private boolean schemaCopied;
+
+    public ReplicationStandIn(DataSource primary, DataSource replica, ReplicationTracker tracker, Clock clock) {
+        this.primary = primary;
+        this.replica = replica;
+        this.tracker = tracker;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${calendar.replica.replication-interval:PT1S}")
+    public synchronized void replicate() {
+        // Writes counted here committed before the snapshot below starts, so the snapshot has them.
+        long sequence = tracker.writeSequence();
+        if (schemaCopied && sequence == tracker.appliedSequence()) {
+            return;
+        }
+        Instant snapshotAt = clock.instant();
+        long started = System.nanoTime();
+        int rows = 0;
+        try (Connection source = primary.getConnection(); Connection target = replica.getConnection()) {
+            source.setAutoCommit(false);
+            source.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+            source.setReadOnly(true);
+            if (!schemaCopied) {
+                copySchema(source, target);
+                schemaCopied = true;
+            }
+            target.setAutoCommit(false);
+            try {
+                for (String table : tables(source)) {
+                    rows += copyTable(source, target, table);
+                }
+                target.commit();
+            } catch (SQLException e) {
+                target.rollback();
+                throw e;
+            } finally {
+                source.commit();
+            }
+        } catch (SQLException e) {
+            log.warn("Replication to the replica failed, reads fall back to the primary once it lags: {}",
+                    e.getMessage());
+            return;
+        }
+        tracker.recordApplied(sequence, snapshotAt);
+        log.debug("Replicated {} rows up to write {} in {} ms", rows, sequence, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void copySchema(Connection source, Connection target) throws SQLException {
+        List<String> statements = new ArrayList<>();
+        try (Statement script = source.createStatement();
+             ResultSet lines = script.executeQuery("SCRIPT NODATA NOPASSWORDS NOSETTINGS")) {
+            while (lines.next()) {
+                String statement = lines.getString(1);
+                if (!statement.startsWith("--") && !statement.startsWith("CREATE USER")) {
+                    statements.add(statement);
+                }
+            }
+        }
+        try (Statement ddl = target.createStatement()) {
+            ddl.execute("DROP ALL OBJECTS");
+            for (String statement : statements) {
+                ddl.execute(statement);
+            }
+            // Tables are refilled one at a time, so foreign keys cannot be checked row by row.
+            ddl.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        }
+        log.info("Copied {} schema statements to the replica", statements.size());
+    }
+
+    private List<String> tables(Connection source) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (Statement query = source.createStatement();
+             ResultSet names = query.executeQuery("SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
+                     + "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_TYPE = 'BASE TABLE' ORDER BY TABLE_NAME")) {
+            while (names.next()) {
+                tables.add(names.getString(1));
+            }
+        }
+        return tables;
+    }
+
+    private int copyTable(Connection source, Connection target, String table) throws SQLException {
+        String quoted = "\"" + table + "\"";
+        try (Statement delete = target.createStatement()) {
+            delete.executeUpdate("DELETE FROM " + quoted);
+        }
+        int copied = 0;
+        try (Statement select = source.createStatement();
+             ResultSet rows = select.executeQuery("SELECT * FROM " + quoted)) {
+            int columns = rows.getMetaData().getColumnCount();
+            String insert = "INSERT INTO " + quoted + " VALUES (" + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+            try (PreparedStatement statement = target.prepareStatement(insert)) {
+                while (rows.next()) {
+                    for (int column = 1; column <= columns; column++) {
+                        statement.setObject(column, rows.getObject(column));
+                    }
+                    statement.addBatch();
+                    if (++copied % INSERT_BATCH_SIZE == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+            }
+        }
+        return copied;
+    }
+}
@@ -0,0 +1,101 @@
+package org.assignment.replica;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of how far the replica is behind the primary and decides where reads may go.
+ * <p>
+ * Every committed write on the primary takes the next number of a write sequence, and the
+ * replication stand-in reports the number its last copy included. A read goes to the replica
+ * only if the replica already has every write of the calling client and, while newer writes
+ * are still missing from it, its copy is less than {@code maxLag} old. Otherwise it goes to
+ * the primary.
+ */
+public class ReplicationTracker implements MeterBinder {
+
+    private final Duration maxLag;
+    private final Clock clock;
+    private final AtomicLong writeSequence = new AtomicLong();
+    private final Map<String, Long> lastWriteByCaller = new ConcurrentHashMap<>();
+    private final AtomicLong replicaReads = new AtomicLong();
+    private final AtomicLong primaryReads = new AtomicLong();
+    private volatile long appliedSequence = -1;
+    private volatile Instant appliedSnapshotAt = Instant.MIN;
+
+    public ReplicationTracker(Duration maxLag, Clock clock) {
+        this.maxLag = maxLag;
+        this.clock = clock;
+    }
+
+    /**
+     * Records a committed write, attributing it to {@code caller} when one is known.
+     */
+    public void recordWrite(String caller) {
+        long sequence = writeSequence.incrementAndGet();
+        if (caller != null) {
+            lastWriteByCaller.merge(caller, sequence, Math::max);
+        }
+    }
+
+    public long writeSequence() {
+        return writeSequence.get();
+    }
+
+    public long appliedSequence() {
+        return appliedSequence;
+    }
+
+    /**
+     * Records that the replica now holds every write up to {@code sequence}, copied from a
+     * snapshot of the primary taken at {@code snapshotAt}.
+     */
+    public void recordApplied(long sequence, Instant snapshotAt) {
+        appliedSnapshotAt = snapshotAt;
+        appliedSequence = sequence;
+        lastWriteByCaller.values().removeIf(lastWrite -> lastWrite <= sequence);
+    }
+
+    /**
+     * Whether a read-only transaction of {@code caller} may run on the replica.
+     */
+    public boolean useReplica(String caller) {
+        boolean replica = isFreshEnoughFor(caller);
+        (replica ? replicaReads : primaryReads).incrementAndGet();
+        return replica;
+    }
+
+    private boolean isFreshEnoughFor(String caller) {
+        long applied = appliedSequence;
+        if (applied < 0) {
+            return false;
+        }
+        if (caller != null && lastWriteByCaller.getOrDefault(caller, 0L) > applied) {
+            return false;
+        }
+        return applied >= writeSequence.get() || clock.instant().isBefore(appliedSnapshotAt.plus(maxLag));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("calendar.replica.pending-writes", this,
+                        tracker -> Math.max(0, tracker.writeSequence() - tracker.appliedSequence()))
+                .description("Committed writes the replica does not have yet")
+                .register(registry);
+        FunctionCounter.builder("calendar.replica.reads", replicaReads, AtomicLong::get)
+                .tag("target", "replica")
+                .register(registry);
+        FunctionCounter.builder("calendar.replica.reads", primaryReads, AtomicLong::get)
+                .tag("target", "primary")
+                .register(registry);
+    }
+}
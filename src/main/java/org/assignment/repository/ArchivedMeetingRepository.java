@@ -0,0 +1,22 @@
+package org.assignment.repository;
+
+import org.assignment.domainmodel.ArchivedMeeting;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ArchivedMeetingRepository extends JpaRepository<ArchivedMeeting, Long> {
+    @Query("SELECT DISTINCT m FROM ArchivedMeeting m LEFT JOIN FETCH m.participantIds " +
+            "WHERE (m.ownerId = :employeeId OR :employeeId MEMBER OF m.participantIds) AND " +
+            "m.startTime < :end AND m.endTime > :start ORDER BY m.startTime")
+    List<ArchivedMeeting> findHistoricalMeetings(
+            @Param("employeeId") Long employeeId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+}
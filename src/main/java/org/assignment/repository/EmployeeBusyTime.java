@@ -0,0 +1,9 @@
+package org.assignment.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * A time range in which an employee is busy, as owner or participant of a stored meeting.
+ */
+public record EmployeeBusyTime(Long employeeId, LocalDateTime startTime, LocalDateTime endTime) {
+}
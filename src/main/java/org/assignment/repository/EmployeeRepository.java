@@ -1,9 +1,25 @@
 package org.assignment.repository;
 
+import jakarta.persistence.LockModeType;
 import org.assignment.domainmodel.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+
+    /**
+     * Loads employees and holds write locks on their rows, taken in ID order, until the
+     * transaction ends. Writers that check attendees' calendars before booking take these
+     * locks first, so one writer's check and insert cannot interleave with another's.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Employee e WHERE e.id IN :ids ORDER BY e.id")
+    List<Employee> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
 }
@@ -7,17 +7,55 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface MeetingRepository extends JpaRepository<Meeting, Long> {
+    /**
+     * Meetings the employee owns or attends that overlap the half-open range {@code [start, end)}:
+     * a meeting ending exactly at {@code start} or starting exactly at {@code end} does not overlap,
+     * the same rule the schedule store applies.
+     */
     @Query("SELECT m FROM Meeting m WHERE (m.owner.id = :employeeId OR :employeeId IN (SELECT p.id FROM m.participants p)) AND " +
-            "((m.startTime <= :end AND m.endTime > :start) OR " +
-            "(m.startTime < :end AND m.endTime >= :end) OR " +
-            "(m.startTime >= :start AND m.endTime <= :end))")
+            "m.startTime < :end AND m.endTime > :start")
     List<Meeting> findOverlappingMeetings(
             @Param("employeeId") Long employeeId,
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end
     );
-}
\ No newline at end of file
+
+    @Query("SELECT m FROM Meeting m WHERE m.room.id IN :roomIds AND m.startTime < :end AND m.endTime > :start")
+    List<Meeting> findOverlappingRoomMeetings(
+            @Param("roomIds") Collection<Long> roomIds,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    @Query("SELECT new org.assignment.repository.EmployeeBusyTime(m.owner.id, m.startTime, m.endTime) " +
+            "FROM Meeting m WHERE m.owner.id IN :employeeIds AND m.startTime < :end AND m.endTime > :start")
+    List<EmployeeBusyTime> findOwnerBusyTimes(
+            @Param("employeeIds") Collection<Long> employeeIds,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    @Query("SELECT new org.assignment.repository.EmployeeBusyTime(p.id, m.startTime, m.endTime) " +
+            "FROM Meeting m JOIN m.participants p WHERE p.id IN :employeeIds AND m.startTime < :end AND m.endTime > :start")
+    List<EmployeeBusyTime> findParticipantBusyTimes(
+            @Param("employeeIds") Collection<Long> employeeIds,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    /**
+     * Busy times of several employees in one pass over the owner and participant indexes,
+     * without loading the meetings themselves.
+     */
+    default List<EmployeeBusyTime> findBusyTimes(Collection<Long> employeeIds, LocalDateTime start, LocalDateTime end) {
+        List<EmployeeBusyTime> busyTimes = new ArrayList<>(findOwnerBusyTimes(employeeIds, start, end));
+        busyTimes.addAll(findParticipantBusyTimes(employeeIds, start, end));
+        return busyTimes;
+    }
+}
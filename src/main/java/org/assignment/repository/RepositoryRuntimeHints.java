@@ -0,0 +1,17 @@
+package org.assignment.repository;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection hints for native images: Hibernate instantiates {@link EmployeeBusyTime} from the
+ * constructor expressions in {@link MeetingRepository}, which static analysis cannot see.
+ */
+public class RepositoryRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.reflection().registerType(EmployeeBusyTime.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+    }
+}
@@ -0,0 +1,25 @@
+package org.assignment.repository;
+
+import jakarta.persistence.LockModeType;
+import org.assignment.domainmodel.Room;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RoomRepository extends JpaRepository<Room, Long> {
+    List<Room> findByCapacityGreaterThanEqualOrderByCapacityAscIdAsc(int capacity);
+
+    /**
+     * Loads a room and holds a write lock on its row until the transaction ends, so bookings
+     * of the same room check for overlaps one after another.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.id = :id")
+    Optional<Room> findByIdForUpdate(@Param("id") Long id);
+}
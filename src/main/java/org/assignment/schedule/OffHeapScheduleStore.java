@@ -0,0 +1,365 @@
+package org.assignment.schedule;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Busy intervals of every employee, kept outside the Java heap.
+ * <p>
+ * Intervals are stored as pairs of {@code int} epoch minutes in one direct buffer. Each
+ * employee owns a contiguous region of it holding sorted, merged intervals; a second direct
+ * buffer indexed by employee ID holds the offset, length and capacity of every region, so
+ * employee IDs are expected to be dense, as database identities are. A region that fills up
+ * moves to the end of the buffer with twice the capacity, and the buffer is compacted once
+ * more than half of it is abandoned regions.
+ * <p>
+ * Only the union of an employee's meetings is kept, so adding the same meeting twice changes
+ * nothing and meetings cannot be removed one by one; whole days are dropped by
+ * {@link #pruneBefore}. Times are converted to minutes as if they were UTC, with starts
+ * rounded down and ends rounded up.
+ */
+public class OffHeapScheduleStore implements MeterBinder {
+
+    private static final int INTERVAL_BYTES = 2 * Integer.BYTES;
+    private static final int INDEX_ENTRY_BYTES = 3 * Integer.BYTES;
+    private static final int OFFSET = 0;
+    private static final int COUNT = Integer.BYTES;
+    private static final int CAPACITY = 2 * Integer.BYTES;
+    private static final int MIN_REGION_CAPACITY = 4;
+    private static final int MAX_EMPLOYEE_ID = Integer.MAX_VALUE / INDEX_ENTRY_BYTES - 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private ByteBuffer index;
+    private ByteBuffer intervals;
+    private int usedIntervals;
+    private int abandonedIntervals;
+    private volatile long storedIntervals;
+    private volatile boolean ready;
+
+    public OffHeapScheduleStore(int initialEmployees, int initialIntervals) {
+        index = ByteBuffer.allocateDirect(Math.max(1, initialEmployees) * INDEX_ENTRY_BYTES);
+        intervals = ByteBuffer.allocateDirect(Math.max(MIN_REGION_CAPACITY, initialIntervals) * INTERVAL_BYTES);
+    }
+
+    public static int toStartMinute(LocalDateTime time) {
+        return Math.toIntExact(Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60));
+    }
+
+    public static int toEndMinute(LocalDateTime time) {
+        long seconds = time.toEpochSecond(ZoneOffset.UTC) + (time.getNano() > 0 ? 1 : 0);
+        return Math.toIntExact(Math.floorDiv(seconds + 59, 60));
+    }
+
+    public static LocalDateTime toDateTime(int minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60L, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Whether the store holds every stored meeting, not just those added since startup.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        ready = true;
+    }
+
+    public void add(long employeeId, LocalDateTime start, LocalDateTime end) {
+        int startMinute = toStartMinute(start);
+        int endMinute = toEndMinute(end);
+        if (endMinute <= startMinute) {
+            return;
+        }
+        int id = checkId(employeeId);
+        lock.writeLock().lock();
+        try {
+            ensureIndex(id);
+            insert(id, startMinute, endMinute);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the employee has nothing stored that overlaps {@code [start, end)}.
+     */
+    public boolean isFree(long employeeId, LocalDateTime start, LocalDateTime end) {
+        int startMinute = toStartMinute(start);
+        int endMinute = toEndMinute(end);
+        lock.readLock().lock();
+        try {
+            int id = (int) Math.min(employeeId, Integer.MAX_VALUE);
+            if (employeeId < 0 || !hasEntry(id)) {
+                return true;
+            }
+            int offset = offset(id);
+            int count = count(id);
+            int next = firstEndingAfter(offset, count, startMinute);
+            return next == count || start(offset + next) >= endMinute;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The employee's busy intervals overlapping {@code [start, end)} as consecutive start and
+     * end minutes, in order.
+     */
+    public int[] busyMinutes(long employeeId, LocalDateTime start, LocalDateTime end) {
+        int startMinute = toStartMinute(start);
+        int endMinute = toEndMinute(end);
+        lock.readLock().lock();
+        try {
+            int id = (int) Math.min(employeeId, Integer.MAX_VALUE);
+            if (employeeId < 0 || !hasEntry(id)) {
+                return new int[0];
+            }
+            int offset = offset(id);
+            int count = count(id);
+            int from = firstEndingAfter(offset, count, startMinute);
+            int to = from;
+            while (to < count && start(offset + to) < endMinute) {
+                to++;
+            }
+            int[] minutes = new int[2 * (to - from)];
+            for (int i = from; i < to; i++) {
+                minutes[2 * (i - from)] = start(offset + i);
+                minutes[2 * (i - from) + 1] = end(offset + i);
+            }
+            return minutes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drops every interval that ended at or before {@code cutoff}.
+     *
+     * @return the number of intervals dropped
+     */
+    public long pruneBefore(LocalDateTime cutoff) {
+        int cutoffMinute = toStartMinute(cutoff);
+        lock.writeLock().lock();
+        try {
+            long dropped = 0;
+            int employees = index.capacity() / INDEX_ENTRY_BYTES;
+            for (int id = 0; id < employees; id++) {
+                int count = count(id);
+                if (count == 0) {
+                    continue;
+                }
+                int offset = offset(id);
+                int ended = firstEndingAfter(offset, count, cutoffMinute);
+                if (ended > 0) {
+                    for (int i = ended; i < count; i++) {
+                        copyInterval(offset + i, offset + i - ended);
+                    }
+                    setCount(id, count - ended);
+                    dropped += ended;
+                }
+            }
+            storedIntervals -= dropped;
+            return dropped;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long storedIntervals() {
+        return storedIntervals;
+    }
+
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) index.capacity() + intervals.capacity();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("calendar.schedule-store.intervals", this, OffHeapScheduleStore::storedIntervals)
+                .description("Merged busy intervals held in the off-heap schedule store")
+                .register(registry);
+        Gauge.builder("calendar.schedule-store.off-heap", this, OffHeapScheduleStore::offHeapBytes)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private void insert(int id, int startMinute, int endMinute) {
+        int offset = offset(id);
+        int count = count(id);
+        // Intervals that overlap or touch the new one are merged into it, as in CalendarService.
+        int first = firstEndingAfter(offset, count, startMinute - 1);
+        int last = first;
+        while (last < count && start(offset + last) <= endMinute) {
+            last++;
+        }
+        if (first < last) {
+            int mergedStart = Math.min(startMinute, start(offset + first));
+            int mergedEnd = Math.max(endMinute, end(offset + last - 1));
+            putInterval(offset + first, mergedStart, mergedEnd);
+            int removed = last - first - 1;
+            for (int i = last; i < count; i++) {
+                copyInterval(offset + i, offset + i - removed);
+            }
+            setCount(id, count - removed);
+            storedIntervals -= removed;
+            return;
+        }
+        if (count == capacity(id)) {
+            offset = relocate(id, Math.max(MIN_REGION_CAPACITY, 2 * count));
+        }
+        for (int i = count; i > first; i--) {
+            copyInterval(offset + i - 1, offset + i);
+        }
+        putInterval(offset + first, startMinute, endMinute);
+        setCount(id, count + 1);
+        storedIntervals++;
+    }
+
+    private int relocate(int id, int newCapacity) {
+        if (abandonedIntervals > usedIntervals / 2) {
+            compact();
+        }
+        ensureIntervals((long) usedIntervals + newCapacity);
+        int oldOffset = offset(id);
+        int count = count(id);
+        int newOffset = usedIntervals;
+        intervals.put(newOffset * INTERVAL_BYTES, intervals, oldOffset * INTERVAL_BYTES, count * INTERVAL_BYTES);
+        abandonedIntervals += capacity(id);
+        usedIntervals += newCapacity;
+        index.putInt(id * INDEX_ENTRY_BYTES + OFFSET, newOffset);
+        index.putInt(id * INDEX_ENTRY_BYTES + CAPACITY, newCapacity);
+        return newOffset;
+    }
+
+    /**
+     * Copies every region into a fresh buffer, leaving a quarter of spare capacity per region.
+     */
+    private void compact() {
+        int employees = index.capacity() / INDEX_ENTRY_BYTES;
+        long needed = 0;
+        for (int id = 0; id < employees; id++) {
+            needed += compactedCapacity(count(id));
+        }
+        ByteBuffer compacted = ByteBuffer.allocateDirect(
+                Math.toIntExact(Math.max(MIN_REGION_CAPACITY, needed) * INTERVAL_BYTES));
+        int next = 0;
+        for (int id = 0; id < employees; id++) {
+            int count = count(id);
+            int capacity = compactedCapacity(count);
+            if (capacity == 0) {
+                index.putInt(id * INDEX_ENTRY_BYTES + CAPACITY, 0);
+                continue;
+            }
+            compacted.put(next * INTERVAL_BYTES, intervals, offset(id) * INTERVAL_BYTES, count * INTERVAL_BYTES);
+            index.putInt(id * INDEX_ENTRY_BYTES + OFFSET, next);
+            index.putInt(id * INDEX_ENTRY_BYTES + CAPACITY, capacity);
+            next += capacity;
+        }
+        intervals = compacted;
+        usedIntervals = next;
+        abandonedIntervals = 0;
+    }
+
+    private static int compactedCapacity(int count) {
+        return count == 0 ? 0 : Math.max(MIN_REGION_CAPACITY, count + count / 4);
+    }
+
+    private void ensureIndex(int id) {
+        int needed = (id + 1) * INDEX_ENTRY_BYTES;
+        if (needed <= index.capacity()) {
+            return;
+        }
+        long grown = Math.min(Math.max(needed, 2L * index.capacity()), (MAX_EMPLOYEE_ID + 1L) * INDEX_ENTRY_BYTES);
+        ByteBuffer larger = ByteBuffer.allocateDirect((int) grown);
+        larger.put(0, index, 0, index.capacity());
+        index = larger;
+    }
+
+    private void ensureIntervals(long neededIntervals) {
+        long needed = (long) neededIntervals * INTERVAL_BYTES;
+        if (needed <= intervals.capacity()) {
+            return;
+        }
+        if (needed > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Schedule store is full");
+        }
+        long grown = Math.min(Math.max(needed, 2L * intervals.capacity()), Integer.MAX_VALUE - INTERVAL_BYTES + 1);
+        ByteBuffer larger = ByteBuffer.allocateDirect((int) grown);
+        larger.put(0, intervals, 0, usedIntervals * INTERVAL_BYTES);
+        intervals = larger;
+    }
+
+    private static int checkId(long employeeId) {
+        if (employeeId < 0 || employeeId > MAX_EMPLOYEE_ID) {
+            throw new IllegalArgumentException("Employee ID out of range for the schedule store: " + employeeId);
+        }
+        return (int) employeeId;
+    }
+
+    private boolean hasEntry(int id) {
+        return id < index.capacity() / INDEX_ENTRY_BYTES && count(id) > 0;
+    }
+
+    /**
+     * Index, relative to the region, of the first interval ending after {@code minute}.
+     */
+    private int firstEndingAfter(int offset, int count, int minute) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (end(offset + mid) > minute) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private int offset(int id) {
+        return index.getInt(id * INDEX_ENTRY_BYTES + OFFSET);
+    }
+
+    private int count(int id) {
+        return index.getInt(id * INDEX_ENTRY_BYTES + COUNT);
+    }
+
+    private int capacity(int id) {
+        return index.getInt(id * INDEX_ENTRY_BYTES + CAPACITY);
+    }
+
+    private void setCount(int id, int count) {
+        index.putInt(id * INDEX_ENTRY_BYTES + COUNT, count);
+    }
+
+    private int start(int interval) {
+        return intervals.getInt(interval * INTERVAL_BYTES);
+    }
+
+    private int end(int interval) {
+        return intervals.getInt(interval * INTERVAL_BYTES + Integer.BYTES);
+    }
+
+    private void putInterval(int interval, int startMinute, int endMinute) {
+        intervals.putInt(interval * INTERVAL_BYTES, startMinute);
+        intervals.putInt(interval * INTERVAL_BYTES + Integer.BYTES, endMinute);
+    }
+
+    private void copyInterval(int from, int to) {
+        intervals.putLong(to * INTERVAL_BYTES, intervals.getLong(from * INTERVAL_BYTES));
+    }
+}
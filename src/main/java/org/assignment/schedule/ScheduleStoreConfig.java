@@ -0,0 +1,27 @@
+package org.assignment.schedule;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Keeps busy intervals in an {@link OffHeapScheduleStore} when
+ * {@code calendar.schedule-store.enabled} is set; scheduling queries then read the store
+ * instead of loading meetings.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "calendar.schedule-store", name = "enabled", havingValue = "true")
+public class ScheduleStoreConfig {
+
+    @Bean
+    public OffHeapScheduleStore offHeapScheduleStore(ScheduleStoreProperties properties) {
+        return new OffHeapScheduleStore(properties.getInitialEmployees(), properties.getInitialIntervals());
+    }
+
+    @Bean
+    public ScheduleStoreLoader scheduleStoreLoader(OffHeapScheduleStore offHeapScheduleStore, DataSource dataSource) {
+        return new ScheduleStoreLoader(offHeapScheduleStore, dataSource);
+    }
+}
@@ -0,0 +1,64 @@
+package org.assignment.schedule;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Fills the {@link OffHeapScheduleStore} from the meeting tables once the application is
+ * ready, after any seeding, and drops past days from it every night. Rows are streamed with
+ * plain JDBC so no entities are created; bookings committed meanwhile are added by the booking
+ * paths themselves, and adding a meeting twice is harmless.
+ */
+@Slf4j
+public class ScheduleStoreLoader {
+
+    private static final int FETCH_SIZE = 10_000;
+    private static final String OWNER_BUSY_TIMES =
+            "SELECT owner_id, start_time, end_time FROM meeting WHERE end_time > ?";
+    private static final String PARTICIPANT_BUSY_TIMES =
+            "SELECT p.participants_id, m.start_time, m.end_time FROM meeting m "
+                    + "JOIN meeting_participants p ON p.meeting_id = m.id WHERE m.end_time > ?";
+
+    private final OffHeapScheduleStore store;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ScheduleStoreLoader(OffHeapScheduleStore store, DataSource dataSource) {
+        this.store = store;
+        // Outside a read-only transaction, so replica routing sends these reads to the primary.
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Timestamp from = Timestamp.valueOf(LocalDate.now().atStartOfDay());
+        long started = System.nanoTime();
+        long[] rows = new long[1];
+        for (String query : new String[]{OWNER_BUSY_TIMES, PARTICIPANT_BUSY_TIMES}) {
+            jdbcTemplate.query(query, resultSet -> {
+                store.add(resultSet.getLong(1), resultSet.getTimestamp(2).toLocalDateTime(),
+                        resultSet.getTimestamp(3).toLocalDateTime());
+                rows[0]++;
+            }, from);
+        }
+        store.markReady();
+        log.info("Loaded {} busy times into {} merged intervals ({} KB off-heap) in {} ms",
+                rows[0], store.storedIntervals(), store.offHeapBytes() / 1024,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Scheduled(cron = "${calendar.schedule-store.prune-cron:0 30 0 * * *}")
+    public void prune() {
+        LocalDateTime cutoff = LocalDate.now().atStartOfDay();
+        long dropped = store.pruneBefore(cutoff);
+        log.info("Dropped {} busy intervals that ended before {}", dropped, cutoff);
+    }
+}
@@ -0,0 +1,18 @@
+package org.assignment.schedule;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the off-heap schedule store, bound from {@code calendar.schedule-store.*}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "calendar.schedule-store")
+public class ScheduleStoreProperties {
+    private boolean enabled = false;
+    private int initialEmployees = 1_024;
+    private int initialIntervals = 16_384;
+    private String pruneCron = "0 30 0 * * *";
+}
@@ -0,0 +1,185 @@
+package org.assignment.seed;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates a synthetic but realistic calendar: employees are grouped into teams,
+ * meetings only happen on weekdays during business hours (9 AM - 5 PM), and the mix
+ * contains recurring team blocks, occasional large meetings and ad hoc meetings.
+ * Participants and owners are referenced by their index in the generated employee list.
+ */
+public class CalendarDataGenerator {
+
+    private static final LocalTime DAY_START = LocalTime.of(9, 0);
+    private static final int SLOTS_PER_DAY = 16;
+    private static final int SLOT_MINUTES = 30;
+
+    private final SeedProperties properties;
+    private final Random random;
+    private final List<LocalDate> workingDays;
+
+    public CalendarDataGenerator(SeedProperties properties, LocalDate firstDay) {
+        this.properties = properties;
+        this.random = new Random(properties.getRandomSeed());
+        this.workingDays = new ArrayList<>();
+        for (int i = 0; i < properties.getDays(); i++) {
+            LocalDate day = firstDay.plusDays(i);
+            if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                workingDays.add(day);
+            }
+        }
+    }
+
+    public record SeedMeeting(String title, LocalDateTime startTime, LocalDateTime endTime,
+                              int owner, int[] participants) {
+    }
+
+    public List<String> generateEmployees() {
+        List<String> names = new ArrayList<>(properties.getEmployees());
+        for (int i = 0; i < properties.getEmployees(); i++) {
+            names.add("Seed Employee " + (i + 1));
+        }
+        return names;
+    }
+
+    public List<SeedMeeting> generateMeetings() {
+        int target = properties.getMeetings();
+        List<SeedMeeting> meetings = new ArrayList<>(target);
+        if (workingDays.isEmpty() || properties.getEmployees() < 2) {
+            return meetings;
+        }
+
+        while (meetings.size() < target) {
+            double kind = random.nextDouble();
+            if (kind < properties.getRecurringShare()) {
+                addRecurringSeries(meetings);
+            } else if (kind < properties.getRecurringShare() + properties.getLargeMeetingShare()) {
+                addLargeMeeting(meetings);
+            } else {
+                addAdHocMeeting(meetings);
+            }
+        }
+        return new ArrayList<>(meetings.subList(0, target));
+    }
+
+    private void addRecurringSeries(List<SeedMeeting> meetings) {
+        int[] team = randomTeam();
+        int lead = team[0];
+        switch (random.nextInt(3)) {
+            case 0 -> {
+                // Daily stand-up at the start of the day.
+                for (LocalDate day : workingDays) {
+                    meetings.add(meeting("Team stand-up", day, 0, 1, lead, others(team, lead)));
+                }
+            }
+            case 1 -> {
+                // Weekly team sync on a fixed weekday and time.
+                DayOfWeek weekday = randomWorkingDay().getDayOfWeek();
+                int slot = random.nextInt(SLOTS_PER_DAY - 1);
+                for (LocalDate day : workingDays) {
+                    if (day.getDayOfWeek() == weekday) {
+                        meetings.add(meeting("Weekly team sync", day, slot, 2, lead, others(team, lead)));
+                    }
+                }
+            }
+            default -> {
+                // Weekly 1:1 between the team lead and one member.
+                int member = team.length > 1 ? team[1 + random.nextInt(team.length - 1)] : randomEmployeeExcept(lead);
+                DayOfWeek weekday = randomWorkingDay().getDayOfWeek();
+                int slot = random.nextInt(SLOTS_PER_DAY);
+                for (LocalDate day : workingDays) {
+                    if (day.getDayOfWeek() == weekday) {
+                        meetings.add(meeting("1:1", day, slot, 1, lead, new int[]{member}));
+                    }
+                }
+            }
+        }
+    }
+
+    private void addLargeMeeting(List<SeedMeeting> meetings) {
+        int owner = random.nextInt(properties.getEmployees());
+        int maxSize = Math.min(properties.getLargeMeetingSize(), properties.getEmployees() - 1);
+        int size = Math.max(1, maxSize / 2 + random.nextInt(maxSize / 2 + 1));
+        meetings.add(meeting("All hands", randomWorkingDay(), 2 + random.nextInt(SLOTS_PER_DAY - 4), 2,
+                owner, randomParticipants(owner, size, null)));
+    }
+
+    private void addAdHocMeeting(List<SeedMeeting> meetings) {
+        int owner = random.nextInt(properties.getEmployees());
+        int length = randomLengthInSlots();
+        int slot = random.nextInt(SLOTS_PER_DAY - length + 1);
+        int[] team = random.nextDouble() < 0.7 ? teamOf(owner) : null;
+        int size = Math.min(1 + random.nextInt(4), properties.getEmployees() - 1);
+        meetings.add(meeting("Ad hoc meeting", randomWorkingDay(), slot, length,
+                owner, randomParticipants(owner, size, team)));
+    }
+
+    private int randomLengthInSlots() {
+        double duration = random.nextDouble();
+        if (duration < 0.5) {
+            return 1;
+        }
+        if (duration < 0.85) {
+            return 2;
+        }
+        return 3 + random.nextInt(2);
+    }
+
+    private SeedMeeting meeting(String title, LocalDate day, int slot, int lengthInSlots, int owner, int[] participants) {
+        LocalDateTime start = day.atTime(DAY_START).plusMinutes((long) SLOT_MINUTES * slot);
+        return new SeedMeeting(title, start, start.plusMinutes((long) SLOT_MINUTES * lengthInSlots),
+                owner, participants);
+    }
+
+    private LocalDate randomWorkingDay() {
+        return workingDays.get(random.nextInt(workingDays.size()));
+    }
+
+    private int[] randomTeam() {
+        return teamOf(random.nextInt(properties.getEmployees()));
+    }
+
+    private int[] teamOf(int employee) {
+        int teamSize = Math.max(1, properties.getTeamSize());
+        int first = employee / teamSize * teamSize;
+        int last = Math.min(first + teamSize, properties.getEmployees());
+        int[] team = new int[last - first];
+        for (int i = 0; i < team.length; i++) {
+            team[i] = first + i;
+        }
+        return team;
+    }
+
+    private int[] others(int[] team, int excluded) {
+        return Arrays.stream(team).filter(member -> member != excluded).toArray();
+    }
+
+    private int randomEmployeeExcept(int excluded) {
+        int employee = random.nextInt(properties.getEmployees() - 1);
+        return employee >= excluded ? employee + 1 : employee;
+    }
+
+    private int[] randomParticipants(int owner, int size, int[] preferredPool) {
+        Set<Integer> participants = new LinkedHashSet<>();
+        if (preferredPool != null) {
+            for (int member : preferredPool) {
+                if (participants.size() < size && member != owner && random.nextBoolean()) {
+                    participants.add(member);
+                }
+            }
+        }
+        while (participants.size() < size) {
+            participants.add(randomEmployeeExcept(owner));
+        }
+        return participants.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,115 @@
+package org.assignment.seed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.assignment.seed.CalendarDataGenerator.SeedMeeting;
+import org.assignment.service.ScheduleVersions;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads a synthetic calendar on startup when the {@code seed} profile is active.
+ * Rows are written with batched JDBC inserts; identity values are read back per batch,
+ * which relies on the seeder being the only writer while it runs.
+ */
+@Slf4j
+@Component
+@Profile("seed")
+public class CalendarDataSeeder implements ApplicationRunner {
+
+    private static final String INSERT_EMPLOYEE = "INSERT INTO employee (name, tenant_id) VALUES (?, ?)";
+    private static final String INSERT_MEETING =
+            "INSERT INTO meeting (title, start_time, end_time, owner_id, tenant_id) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_PARTICIPANT =
+            "INSERT INTO meeting_participants (meeting_id, participants_id) VALUES (?, ?)";
+
+    private final SeedProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduleVersions scheduleVersions;
+
+    public CalendarDataSeeder(SeedProperties properties, JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate, ScheduleVersions scheduleVersions) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.scheduleVersions = scheduleVersions;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Seeding synthetic calendar. Employees: {}, Meetings: {}, Days: {}, Tenants: {}",
+                properties.getEmployees(), properties.getMeetings(), properties.getDays(), properties.getTenants());
+        long started = System.nanoTime();
+
+        int employees = 0;
+        int meetings = 0;
+        for (String tenant : properties.getTenants()) {
+            CalendarDataGenerator generator = new CalendarDataGenerator(properties, LocalDate.now());
+            List<Long> employeeIds = insertEmployees(tenant, generator.generateEmployees());
+            List<SeedMeeting> tenantMeetings = generator.generateMeetings();
+
+            int batchSize = Math.max(1, properties.getBatchSize());
+            for (int from = 0; from < tenantMeetings.size(); from += batchSize) {
+                List<SeedMeeting> batch = tenantMeetings.subList(from, Math.min(from + batchSize, tenantMeetings.size()));
+                transactionTemplate.executeWithoutResult(status -> insertMeetings(tenant, batch, employeeIds));
+            }
+            employees += employeeIds.size();
+            meetings += tenantMeetings.size();
+        }
+
+        // Requests may already have been answered from the partly seeded calendar.
+        scheduleVersions.bumpAll();
+        log.info("Seeded {} employees and {} meetings in {} ms",
+                employees, meetings, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private List<Long> insertEmployees(String tenant, List<String> names) {
+        return transactionTemplate.execute(status -> {
+            long previousMaxId = maxId("employee");
+            jdbcTemplate.batchUpdate(INSERT_EMPLOYEE, names, properties.getBatchSize(), (ps, name) -> {
+                ps.setString(1, name);
+                ps.setString(2, tenant);
+            });
+            return jdbcTemplate.queryForList(
+                    "SELECT id FROM employee WHERE id > ? ORDER BY id", Long.class, previousMaxId);
+        });
+    }
+
+    private void insertMeetings(String tenant, List<SeedMeeting> batch, List<Long> employeeIds) {
+        long previousMaxId = maxId("meeting");
+        jdbcTemplate.batchUpdate(INSERT_MEETING, batch, batch.size(), (ps, meeting) -> {
+            ps.setString(1, meeting.title());
+            ps.setTimestamp(2, Timestamp.valueOf(meeting.startTime()));
+            ps.setTimestamp(3, Timestamp.valueOf(meeting.endTime()));
+            ps.setLong(4, employeeIds.get(meeting.owner()));
+            ps.setString(5, tenant);
+        });
+        List<Long> meetingIds = jdbcTemplate.queryForList(
+                "SELECT id FROM meeting WHERE id > ? ORDER BY id", Long.class, previousMaxId);
+
+        List<long[]> participants = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            for (int participant : batch.get(i).participants()) {
+                participants.add(new long[]{meetingIds.get(i), employeeIds.get(participant)});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_PARTICIPANT, participants, properties.getBatchSize(), (ps, row) -> {
+            ps.setLong(1, row[0]);
+            ps.setLong(2, row[1]);
+        });
+    }
+
+    private long maxId(String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return maxId != null ? maxId : 0L;
+    }
+}
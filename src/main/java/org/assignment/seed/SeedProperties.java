@@ -0,0 +1,32 @@
+package org.assignment.seed;
+
+import lombok.Data;
+import org.assignment.tenant.TenantContext;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for the synthetic calendar seeder, bound from {@code calendar.seed.*}.
+ * Every tenant listed in {@code tenants} gets its own calendar of the configured size; tenants
+ * other than the default one must also be listed in {@code calendar.tenancy.tenants} to be reachable.
+ */
+@Data
+@Component
+@Profile("seed")
+@ConfigurationProperties(prefix = "calendar.seed")
+public class SeedProperties {
+    private int employees = 1_000;
+    private int meetings = 20_000;
+    private int days = 28;
+    private int teamSize = 8;
+    private double recurringShare = 0.4;
+    private double largeMeetingShare = 0.05;
+    private int largeMeetingSize = 40;
+    private int batchSize = 500;
+    private long randomSeed = 42L;
+    private List<String> tenants = new ArrayList<>(List.of(TenantContext.DEFAULT_TENANT));
+}
@@ -0,0 +1,19 @@
+package org.assignment.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for moving finished meetings to the archive, bound from {@code calendar.archive.*}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "calendar.archive")
+public class ArchiveProperties {
+    private boolean enabled = true;
+    private Duration retention = Duration.ofDays(30);
+    private int batchSize = 1_000;
+}
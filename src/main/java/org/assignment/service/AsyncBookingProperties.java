@@ -0,0 +1,21 @@
+package org.assignment.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for asynchronous, write-behind booking, bound from {@code calendar.async-booking.*}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "calendar.async-booking")
+public class AsyncBookingProperties {
+    private boolean enabled = false;
+    private int maxBatchSize = 200;
+    private Duration linger = Duration.ofMillis(5);
+    private int maxPending = 10_000;
+    private Duration statusRetention = Duration.ofHours(1);
+}
@@ -0,0 +1,428 @@
+package org.assignment.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.assignment.datamanager.MeetingDTO;
+import org.assignment.domainmodel.Employee;
+import org.assignment.domainmodel.Meeting;
+import org.assignment.domainmodel.Room;
+import org.assignment.exceptions.AdmissionRejectedException;
+import org.assignment.exceptions.MeetingConflictException;
+import org.assignment.repository.EmployeeBusyTime;
+import org.assignment.repository.EmployeeRepository;
+import org.assignment.repository.MeetingRepository;
+import org.assignment.repository.RoomRepository;
+import org.assignment.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Accepts bookings without waiting for a database commit.
+ * <p>
+ * A submitted meeting is checked against the stored meetings of its attendees and room and
+ * against the in-memory schedule of bookings that are accepted but not yet written. If it fits,
+ * it is acknowledged at once with a provisional ID and queued. A single writer thread drains
+ * the queue and stores up to {@code maxBatchSize} bookings per transaction. Each booking is
+ * checked against the database again inside that transaction, so a booking that lost a race
+ * with a synchronous one is rejected instead of double-booked. Callers follow up through
+ * {@link #status(String)}.
+ * <p>
+ * Bookings remember the tenant they were submitted for; the writer saves each tenant's share
+ * of a batch in a transaction of its own, running as that tenant.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "calendar.async-booking", name = "enabled", havingValue = "true")
+public class AsyncBookingService implements MeterBinder {
+
+    static final String CONFLICT_REASON = "Conflicts with a meeting that was booked in the meantime";
+    static final String SAVE_FAILED_REASON = "Could not be saved";
+
+    private final EmployeeRepository employeeRepository;
+    private final RoomRepository roomRepository;
+    private final MeetingRepository meetingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncBookingProperties properties;
+    private final ScheduleVersions scheduleVersions;
+    private final Clock clock;
+    private final BlockingQueue<PendingBooking> queue;
+    private final Map<Resource, TreeMap<LocalDateTime, PendingBooking>> schedule = new HashMap<>();
+    private final Map<String, BookingStatus> statuses = new ConcurrentHashMap<>();
+    private final AtomicLong persisted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile boolean running;
+    private Thread writer;
+
+    @Autowired
+    public AsyncBookingService(EmployeeRepository employeeRepository,
+                               RoomRepository roomRepository,
+                               MeetingRepository meetingRepository,
+                               PlatformTransactionManager transactionManager,
+                               AsyncBookingProperties properties,
+                               ScheduleVersions scheduleVersions) {
+        this(employeeRepository, roomRepository, meetingRepository, transactionManager, properties,
+                scheduleVersions, Clock.systemDefaultZone());
+    }
+
+    AsyncBookingService(EmployeeRepository employeeRepository,
+                        RoomRepository roomRepository,
+                        MeetingRepository meetingRepository,
+                        PlatformTransactionManager transactionManager,
+                        AsyncBookingProperties properties,
+                        ScheduleVersions scheduleVersions,
+                        Clock clock) {
+        this.employeeRepository = employeeRepository;
+        this.roomRepository = roomRepository;
+        this.meetingRepository = meetingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.scheduleVersions = scheduleVersions;
+        this.clock = clock;
+        this.queue = new ArrayBlockingQueue<>(properties.getMaxPending());
+    }
+
+    public enum State {
+        PENDING, PERSISTED, REJECTED
+    }
+
+    public record BookingStatus(String provisionalId, State state, Long meetingId, String reason,
+                                LocalDateTime acceptedAt, LocalDateTime completedAt) {
+    }
+
+    private record Resource(String type, Long id) {
+        static Resource employee(Long id) {
+            return new Resource("employee", id);
+        }
+
+        static Resource room(Long id) {
+            return new Resource("room", id);
+        }
+    }
+
+    private record PendingBooking(String tenant, String provisionalId, String title, LocalDateTime start, LocalDateTime end,
+                                  Employee owner, List<Employee> participants, Room room,
+                                  Set<Resource> resources, LocalDateTime acceptedAt) {
+    }
+
+    private record Outcome(PendingBooking booking, Meeting saved, String reason) {
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::runWriter, "booking-writer");
+        writer.start();
+        log.info("Asynchronous booking enabled. Batch size: {}, Linger: {}", properties.getMaxBatchSize(),
+                properties.getLinger());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        log.info("Booking writer stopped with {} bookings still queued", queue.size());
+    }
+
+    public BookingStatus submit(Long ownerId, MeetingDTO meetingDTO) {
+        LocalDateTime start = meetingDTO.getStartTime();
+        LocalDateTime end = meetingDTO.getEndTime();
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("Start time must be before end time");
+        }
+
+        List<Long> participantIds = meetingDTO.getParticipantIds() != null ? meetingDTO.getParticipantIds() : List.of();
+        Set<Long> attendeeIds = new LinkedHashSet<>();
+        attendeeIds.add(ownerId);
+        attendeeIds.addAll(participantIds);
+        Map<Long, Employee> employees = employeeRepository.findAllById(attendeeIds).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        if (!employees.containsKey(ownerId)) {
+            throw new IllegalArgumentException("Owner not found with ID: " + ownerId);
+        }
+        if (employees.size() != attendeeIds.size()) {
+            throw new IllegalArgumentException("One or more participants not found");
+        }
+        Room room = null;
+        if (meetingDTO.getRoomId() != null) {
+            room = roomRepository.findById(meetingDTO.getRoomId())
+                    .orElseThrow(() -> new IllegalArgumentException("Room not found with ID: " + meetingDTO.getRoomId()));
+        }
+
+        Set<String> busy = storedConflicts(attendeeIds, employees, room, start, end);
+        if (!busy.isEmpty()) {
+            throw new MeetingConflictException("Meeting conflicts with existing meetings of " + String.join(", ", busy));
+        }
+
+        Set<Resource> resources = new LinkedHashSet<>();
+        attendeeIds.forEach(id -> resources.add(Resource.employee(id)));
+        if (room != null) {
+            resources.add(Resource.room(room.getId()));
+        }
+        PendingBooking booking = new PendingBooking(TenantContext.current(), UUID.randomUUID().toString(), meetingDTO.getTitle(), start, end,
+                employees.get(ownerId),
+                participantIds.stream().distinct().map(employees::get).collect(Collectors.toList()),
+                room, resources, LocalDateTime.now(clock));
+
+        BookingStatus status = new BookingStatus(booking.provisionalId(), State.PENDING, null, null,
+                booking.acceptedAt(), null);
+        synchronized (schedule) {
+            for (Resource resource : resources) {
+                if (overlapsPending(resource, start, end)) {
+                    throw new MeetingConflictException("Meeting conflicts with a pending booking for "
+                            + describe(resource, employees, room));
+                }
+            }
+            statuses.put(statusKey(booking), status);
+            if (!queue.offer(booking)) {
+                statuses.remove(statusKey(booking));
+                throw new AdmissionRejectedException("Too many bookings are waiting to be saved, please retry later");
+            }
+            for (Resource resource : resources) {
+                schedule.computeIfAbsent(resource, key -> new TreeMap<>()).put(start, booking);
+            }
+        }
+
+        log.info("Accepted booking {} for owner {} from {} to {}", booking.provisionalId(), ownerId, start, end);
+        return status;
+    }
+
+    public Optional<BookingStatus> status(String provisionalId) {
+        return Optional.ofNullable(statuses.get(TenantContext.current() + "/" + provisionalId));
+    }
+
+    @Scheduled(fixedDelayString = "${calendar.async-booking.purge-interval:PT5M}")
+    public void purgeCompleted() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(properties.getStatusRetention());
+        statuses.values().removeIf(status -> status.completedAt() != null && status.completedAt().isBefore(cutoff));
+    }
+
+    /**
+     * Writes everything queued so far on the calling thread. The writer thread does the same in a loop.
+     */
+    int flushPending() {
+        int flushed = 0;
+        List<PendingBooking> batch = new ArrayList<>();
+        while (queue.drainTo(batch, properties.getMaxBatchSize()) > 0) {
+            flush(batch);
+            flushed += batch.size();
+            batch.clear();
+        }
+        return flushed;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("calendar.async-booking.queued", queue, BlockingQueue::size)
+                .description("Accepted bookings waiting to be written")
+                .register(registry);
+        FunctionCounter.builder("calendar.async-booking.bookings", persisted, AtomicLong::get)
+                .tag("outcome", "persisted")
+                .register(registry);
+        FunctionCounter.builder("calendar.async-booking.bookings", rejected, AtomicLong::get)
+                .tag("outcome", "rejected")
+                .register(registry);
+    }
+
+    private void runWriter() {
+        List<PendingBooking> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                collectBatch(batch);
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Booking writer failed to process a batch of {} bookings", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Waits for the first booking, then keeps collecting for up to {@code linger} or until the batch is full.
+     */
+    private void collectBatch(List<PendingBooking> batch) throws InterruptedException {
+        PendingBooking first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + properties.getLinger().toNanos();
+        while (batch.size() < properties.getMaxBatchSize()) {
+            queue.drainTo(batch, properties.getMaxBatchSize() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= properties.getMaxBatchSize() || remaining <= 0) {
+                return;
+            }
+            PendingBooking next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingBooking> batch) {
+        Map<String, List<PendingBooking>> byTenant = batch.stream()
+                .collect(Collectors.groupingBy(PendingBooking::tenant, LinkedHashMap::new, Collectors.toList()));
+        byTenant.forEach((tenant, bookings) -> TenantContext.runAs(tenant, () -> flushTenant(bookings)));
+    }
+
+    private void flushTenant(List<PendingBooking> batch) {
+        long started = System.nanoTime();
+        List<Outcome> outcomes;
+        try {
+            outcomes = transactionTemplate.execute(status -> persist(batch));
+        } catch (RuntimeException e) {
+            log.warn("Saving a batch of {} bookings failed, retrying them one by one: {}", batch.size(), e.getMessage());
+            outcomes = new ArrayList<>(batch.size());
+            for (PendingBooking booking : batch) {
+                try {
+                    outcomes.addAll(transactionTemplate.execute(status -> persist(List.of(booking))));
+                } catch (RuntimeException single) {
+                    log.error("Failed to save booking {}", booking.provisionalId(), single);
+                    outcomes.add(new Outcome(booking, null, SAVE_FAILED_REASON));
+                }
+            }
+        }
+        complete(outcomes);
+        log.info("Wrote a batch of {} bookings in {} ms", batch.size(),
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    private List<Outcome> persist(List<PendingBooking> batch) {
+        // Pending bookings never overlap each other, so only the stored meetings need checking here.
+        // Each booking is checked over its own window: one window spanning the whole batch would pull
+        // in weeks of meetings for every attendee.
+        List<Outcome> outcomes = new ArrayList<>(batch.size());
+        List<Meeting> meetings = new ArrayList<>(batch.size());
+        // Attendees are locked up front and in ID order, as batch scheduling does, so the two cannot deadlock.
+        Set<Long> attendeeIds = new TreeSet<>();
+        batch.forEach(booking -> booking.resources().stream()
+                .filter(resource -> resource.type().equals("employee"))
+                .forEach(resource -> attendeeIds.add(resource.id())));
+        employeeRepository.findAllByIdForUpdate(attendeeIds);
+        for (PendingBooking booking : batch) {
+            if (booking.room() != null) {
+                // The lock synchronous bookings take too, so the two paths cannot both claim the room.
+                roomRepository.findByIdForUpdate(booking.room().getId());
+            }
+            if (isTaken(booking)) {
+                outcomes.add(new Outcome(booking, null, CONFLICT_REASON));
+                continue;
+            }
+            Meeting meeting = new Meeting();
+            meeting.setTitle(booking.title());
+            meeting.setStartTime(booking.start());
+            meeting.setEndTime(booking.end());
+            meeting.setOwner(booking.owner());
+            meeting.setParticipants(new ArrayList<>(booking.participants()));
+            meeting.setRoom(booking.room());
+            meetings.add(meeting);
+            outcomes.add(new Outcome(booking, meeting, null));
+            scheduleVersions.recordBookingAfterCommit(meeting);
+        }
+        meetingRepository.saveAll(meetings);
+        return outcomes;
+    }
+
+    private void complete(List<Outcome> outcomes) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        synchronized (schedule) {
+            for (Outcome outcome : outcomes) {
+                PendingBooking booking = outcome.booking();
+                for (Resource resource : booking.resources()) {
+                    TreeMap<LocalDateTime, PendingBooking> pending = schedule.get(resource);
+                    if (pending != null && pending.remove(booking.start(), booking) && pending.isEmpty()) {
+                        schedule.remove(resource);
+                    }
+                }
+                if (outcome.saved() != null) {
+                    persisted.incrementAndGet();
+                    statuses.put(statusKey(booking), new BookingStatus(booking.provisionalId(), State.PERSISTED,
+                            outcome.saved().getId(), null, booking.acceptedAt(), now));
+                } else {
+                    rejected.incrementAndGet();
+                    log.info("Rejected booking {}: {}", booking.provisionalId(), outcome.reason());
+                    statuses.put(statusKey(booking), new BookingStatus(booking.provisionalId(), State.REJECTED,
+                            null, outcome.reason(), booking.acceptedAt(), now));
+                }
+            }
+        }
+    }
+
+    private boolean isTaken(PendingBooking booking) {
+        Set<Long> employeeIds = new LinkedHashSet<>();
+        booking.resources().stream()
+                .filter(resource -> resource.type().equals("employee"))
+                .forEach(resource -> employeeIds.add(resource.id()));
+        return !meetingRepository.findBusyTimes(employeeIds, booking.start(), booking.end()).isEmpty()
+                || booking.room() != null && !meetingRepository.findOverlappingRoomMeetings(
+                        List.of(booking.room().getId()), booking.start(), booking.end()).isEmpty();
+    }
+
+    private Set<String> storedConflicts(Set<Long> attendeeIds, Map<Long, Employee> employees, Room room, LocalDateTime start, LocalDateTime end) {
+        Set<String> busy = new TreeSet<>();
+        for (EmployeeBusyTime busyTime : meetingRepository.findBusyTimes(attendeeIds, start, end)) {
+            busy.add(employees.get(busyTime.employeeId()).getName());
+        }
+        if (room != null && !meetingRepository.findOverlappingRoomMeetings(List.of(room.getId()), start, end).isEmpty()) {
+            busy.add(room.getName());
+        }
+        return busy;
+    }
+
+    private boolean overlapsPending(Resource resource, LocalDateTime start, LocalDateTime end) {
+        TreeMap<LocalDateTime, PendingBooking> pending = schedule.get(resource);
+        if (pending == null) {
+            return false;
+        }
+        Map.Entry<LocalDateTime, PendingBooking> previous = pending.lowerEntry(end);
+        return previous != null && previous.getValue().end().isAfter(start);
+    }
+
+    private static String statusKey(PendingBooking booking) {
+        return booking.tenant() + "/" + booking.provisionalId();
+    }
+
+    private static String describe(Resource resource, Map<Long, Employee> employees, Room room) {
+        return resource.type().equals("room") ? room.getName() : employees.get(resource.id()).getName();
+    }
+}
@@ -0,0 +1,305 @@
+package org.assignment.service;
+
+import org.assignment.service.CalendarService.BusyInterval;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Places a batch of meeting requests onto the existing calendars.
+ * <p>
+ * Candidate start times are generated in parallel on a fork/join pool: every request walks
+ * the slot grid of its window and keeps the starts where all attendees are free according
+ * to their merged busy intervals. Requests are then placed greedily, highest priority and
+ * fewest candidates first, each on the candidate that touches the most existing commitments
+ * so calendars stay compact. Requests left without a slot go through a local search that
+ * moves a single blocking meeting of equal or lower priority to another of its candidates.
+ */
+class BatchSchedulePlanner {
+
+    static final String NO_FREE_SLOT = "No common free slot in the requested window";
+    static final String DISPLACED = "All free slots are taken by other meetings in the batch";
+
+    private static final int SPLIT_THRESHOLD = 16;
+
+    record PlanRequest(Set<Long> attendees, Duration duration, LocalDateTime windowStart,
+                       LocalDateTime windowEnd, int priority) {
+    }
+
+    record Placement(int request, LocalDateTime start, LocalDateTime end) {
+    }
+
+    record Plan(List<Placement> placements, Map<Integer, String> unplaced) {
+    }
+
+    private final ForkJoinPool pool;
+    private final int localSearchRounds;
+
+    BatchSchedulePlanner(ForkJoinPool pool, int localSearchRounds) {
+        this.pool = pool;
+        this.localSearchRounds = localSearchRounds;
+    }
+
+    Plan plan(List<PlanRequest> requests, Map<Long, List<BusyInterval>> busy) {
+        LocalDateTime[][] candidates = new LocalDateTime[requests.size()][];
+        pool.invoke(new CandidateTask(requests, busy, candidates, 0, requests.size()));
+        return new Run(requests, busy, candidates).solve();
+    }
+
+    private static List<BusyInterval> busyOf(Map<Long, List<BusyInterval>> busy, Long employeeId) {
+        return busy.getOrDefault(employeeId, List.of());
+    }
+
+    private static boolean touches(List<BusyInterval> intervals, LocalDateTime start, LocalDateTime end) {
+        int next = CalendarService.firstEndingAfter(intervals, start.minusNanos(1));
+        return next < intervals.size()
+                && (intervals.get(next).end().equals(start) || intervals.get(next).start().equals(end)
+                || next + 1 < intervals.size() && intervals.get(next + 1).start().equals(end));
+    }
+
+    private static LocalDateTime alignToGrid(LocalDateTime time) {
+        LocalDateTime minute = time.truncatedTo(ChronoUnit.MINUTES);
+        if (minute.isBefore(time)) {
+            minute = minute.plusMinutes(1);
+        }
+        long increment = CalendarService.SLOT_INCREMENT.toMinutes();
+        long offset = minute.getMinute() % increment;
+        return offset == 0 ? minute : minute.plusMinutes(increment - offset);
+    }
+
+    private static boolean withinWorkingHours(LocalDateTime start, LocalDateTime end) {
+        return start.getHour() >= CalendarService.WORKDAY_START_HOUR
+                && !end.isAfter(start.toLocalDate().atTime(CalendarService.WORKDAY_END_HOUR, 0));
+    }
+
+    private static final class CandidateTask extends RecursiveAction {
+        private final List<PlanRequest> requests;
+        private final Map<Long, List<BusyInterval>> busy;
+        private final LocalDateTime[][] candidates;
+        private final int from;
+        private final int to;
+
+        CandidateTask(List<PlanRequest> requests, Map<Long, List<BusyInterval>> busy,
+                      LocalDateTime[][] candidates, int from, int to) {
+            this.requests = requests;
+            this.busy = busy;
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    candidates[i] = candidatesFor(requests.get(i));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new CandidateTask(requests, busy, candidates, from, mid),
+                    new CandidateTask(requests, busy, candidates, mid, to));
+        }
+
+        private LocalDateTime[] candidatesFor(PlanRequest request) {
+            List<LocalDateTime> starts = new ArrayList<>();
+            LocalDateTime start = alignToGrid(request.windowStart());
+            while (!start.plus(request.duration()).isAfter(request.windowEnd())) {
+                LocalDateTime end = start.plus(request.duration());
+                if (withinWorkingHours(start, end) && allFree(request.attendees(), start, end)) {
+                    starts.add(start);
+                }
+                start = start.plus(CalendarService.SLOT_INCREMENT);
+            }
+            return starts.toArray(new LocalDateTime[0]);
+        }
+
+        private boolean allFree(Set<Long> attendees, LocalDateTime start, LocalDateTime end) {
+            for (Long attendee : attendees) {
+                if (!CalendarService.isFree(busyOf(busy, attendee), start, end)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * State of a single planning run: placements made so far, indexed per attendee by start time.
+     */
+    private final class Run {
+        private final List<PlanRequest> requests;
+        private final Map<Long, List<BusyInterval>> busy;
+        private final LocalDateTime[][] candidates;
+        private final Map<Long, TreeMap<LocalDateTime, Placement>> placedByAttendee = new HashMap<>();
+        private final Map<Integer, Placement> placements = new LinkedHashMap<>();
+
+        Run(List<PlanRequest> requests, Map<Long, List<BusyInterval>> busy, LocalDateTime[][] candidates) {
+            this.requests = requests;
+            this.busy = busy;
+            this.candidates = candidates;
+        }
+
+        Plan solve() {
+            List<Integer> order = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) {
+                order.add(i);
+            }
+            order.sort(Comparator.<Integer>comparingInt(i -> requests.get(i).priority()).reversed()
+                    .thenComparingInt(i -> candidates[i].length)
+                    .thenComparingInt(i -> i));
+
+            List<Integer> unplaced = new ArrayList<>();
+            for (int request : order) {
+                Placement best = bestFit(request);
+                if (best != null) {
+                    place(best);
+                } else {
+                    unplaced.add(request);
+                }
+            }
+
+            for (int round = 0; round < localSearchRounds && !unplaced.isEmpty(); round++) {
+                boolean improved = false;
+                for (Iterator<Integer> it = unplaced.iterator(); it.hasNext(); ) {
+                    if (relocateBlockerAndPlace(it.next())) {
+                        it.remove();
+                        improved = true;
+                    }
+                }
+                if (!improved) {
+                    break;
+                }
+            }
+
+            Map<Integer, String> reasons = new LinkedHashMap<>();
+            unplaced.stream().sorted().forEach(request ->
+                    reasons.put(request, candidates[request].length == 0 ? NO_FREE_SLOT : DISPLACED));
+            List<Placement> result = new ArrayList<>(placements.values());
+            result.sort(Comparator.comparing(Placement::start).thenComparingInt(Placement::request));
+            return new Plan(result, reasons);
+        }
+
+        private Placement bestFit(int request) {
+            PlanRequest planRequest = requests.get(request);
+            Placement best = null;
+            int bestScore = -1;
+            for (LocalDateTime start : candidates[request]) {
+                LocalDateTime end = start.plus(planRequest.duration());
+                if (!fits(planRequest.attendees(), start, end)) {
+                    continue;
+                }
+                int score = compactness(planRequest.attendees(), start, end);
+                if (score > bestScore) {
+                    best = new Placement(request, start, end);
+                    bestScore = score;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Counts attendees for whom the slot is directly adjacent to another commitment or to the
+         * edge of the working day, i.e. placing it there does not cut a free block in two.
+         */
+        private int compactness(Set<Long> attendees, LocalDateTime start, LocalDateTime end) {
+            boolean dayEdge = start.getHour() == CalendarService.WORKDAY_START_HOUR && start.getMinute() == 0
+                    || end.equals(start.toLocalDate().atTime(CalendarService.WORKDAY_END_HOUR, 0));
+            int score = 0;
+            for (Long attendee : attendees) {
+                NavigableMap<LocalDateTime, Placement> placed = placedByAttendee.get(attendee);
+                boolean touchesPlaced = placed != null && (placed.containsKey(end)
+                        || placed.floorEntry(start) != null && placed.floorEntry(start).getValue().end().equals(start));
+                if (dayEdge || touchesPlaced || touches(busyOf(busy, attendee), start, end)) {
+                    score++;
+                }
+            }
+            return score;
+        }
+
+        private boolean relocateBlockerAndPlace(int request) {
+            PlanRequest planRequest = requests.get(request);
+            for (LocalDateTime start : candidates[request]) {
+                LocalDateTime end = start.plus(planRequest.duration());
+                Set<Placement> blocking = conflicts(planRequest.attendees(), start, end);
+                if (blocking.size() != 1) {
+                    continue;
+                }
+                Placement blocker = blocking.iterator().next();
+                if (requests.get(blocker.request()).priority() > planRequest.priority()) {
+                    continue;
+                }
+                remove(blocker);
+                Placement placement = new Placement(request, start, end);
+                place(placement);
+                Placement moved = bestFit(blocker.request());
+                if (moved != null) {
+                    place(moved);
+                    return true;
+                }
+                remove(placement);
+                place(blocker);
+            }
+            return false;
+        }
+
+        private boolean fits(Set<Long> attendees, LocalDateTime start, LocalDateTime end) {
+            for (Long attendee : attendees) {
+                NavigableMap<LocalDateTime, Placement> placed = placedByAttendee.get(attendee);
+                if (placed == null) {
+                    continue;
+                }
+                Map.Entry<LocalDateTime, Placement> previous = placed.lowerEntry(end);
+                if (previous != null && previous.getValue().end().isAfter(start)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Set<Placement> conflicts(Set<Long> attendees, LocalDateTime start, LocalDateTime end) {
+            Set<Placement> conflicts = new LinkedHashSet<>();
+            for (Long attendee : attendees) {
+                NavigableMap<LocalDateTime, Placement> placed = placedByAttendee.get(attendee);
+                if (placed == null) {
+                    continue;
+                }
+                for (Placement placement : placed.headMap(end, false).descendingMap().values()) {
+                    if (!placement.end().isAfter(start)) {
+                        break;
+                    }
+                    conflicts.add(placement);
+                }
+            }
+            return conflicts;
+        }
+
+        private void place(Placement placement) {
+            placements.put(placement.request(), placement);
+            for (Long attendee : requests.get(placement.request()).attendees()) {
+                placedByAttendee.computeIfAbsent(attendee, id -> new TreeMap<>()).put(placement.start(), placement);
+            }
+        }
+
+        private void remove(Placement placement) {
+            placements.remove(placement.request());
+            for (Long attendee : requests.get(placement.request()).attendees()) {
+                placedByAttendee.get(attendee).remove(placement.start());
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.assignment.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Limits and tuning for batch scheduling, bound from {@code calendar.batch.*}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "calendar.batch")
+public class BatchScheduleProperties {
+    private int maxRequests = 5_000;
+    private Duration maxWindow = Duration.ofDays(14);
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int localSearchRounds = 3;
+}
@@ -0,0 +1,215 @@
+package org.assignment.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.assignment.datamanager.BatchMeetingRequestDTO;
+import org.assignment.domainmodel.Employee;
+import org.assignment.domainmodel.Meeting;
+import org.assignment.repository.EmployeeRepository;
+import org.assignment.repository.MeetingRepository;
+import org.assignment.service.BatchSchedulePlanner.Placement;
+import org.assignment.service.BatchSchedulePlanner.Plan;
+import org.assignment.service.BatchSchedulePlanner.PlanRequest;
+import org.assignment.service.CalendarService.BusyInterval;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Schedules a batch of meeting requests in one go.
+ * <p>
+ * The busy times of everyone involved are loaded over the union of the requested windows
+ * and merged into busy intervals per employee; {@link BatchSchedulePlanner} then places
+ * the requests. All resulting meetings are booked through {@link CalendarService#bookMeeting}
+ * inside one transaction, so either the whole plan is stored or none of it is.
+ * <p>
+ * Planning reads busy times outside that transaction, so before booking, the transaction locks
+ * every attendee's row and reads their busy times again. Placements that now overlap a meeting
+ * booked in the meantime are reported as unscheduled instead of being double-booked.
+ */
+@Slf4j
+@Service
+public class BatchSchedulingService {
+
+    static final String CONFLICT_REASON = "Conflicts with a meeting booked while the batch was being planned";
+
+    private final CalendarService calendarService;
+    private final EmployeeRepository employeeRepository;
+    private final MeetingRepository meetingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BatchScheduleProperties properties;
+    private final ForkJoinPool pool;
+    private final BatchSchedulePlanner planner;
+
+    public BatchSchedulingService(CalendarService calendarService,
+                                  EmployeeRepository employeeRepository,
+                                  MeetingRepository meetingRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  BatchScheduleProperties properties) {
+        this.calendarService = calendarService;
+        this.employeeRepository = employeeRepository;
+        this.meetingRepository = meetingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.pool = new ForkJoinPool(properties.getParallelism());
+        this.planner = new BatchSchedulePlanner(pool, properties.getLocalSearchRounds());
+    }
+
+    public record Unscheduled(int requestIndex, String title, String reason) {
+    }
+
+    public record BatchResult(List<Meeting> scheduled, List<Unscheduled> unscheduled) {
+    }
+
+    public BatchResult schedule(List<BatchMeetingRequestDTO> requests, boolean dryRun) {
+        log.info("Scheduling a batch of {} meeting requests. Dry run: {}", requests.size(), dryRun);
+        validate(requests);
+
+        Set<Long> employeeIds = new LinkedHashSet<>();
+        for (BatchMeetingRequestDTO request : requests) {
+            employeeIds.add(request.getOwnerId());
+            employeeIds.addAll(request.getParticipantIds());
+        }
+        Map<Long, Employee> employees = employeeRepository.findAllById(employeeIds).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        if (employees.size() != employeeIds.size()) {
+            throw new IllegalArgumentException("One or more employees not found");
+        }
+
+        long started = System.nanoTime();
+        Map<Long, List<BusyInterval>> busy = loadBusyIntervals(requests, employeeIds);
+        Plan plan = planner.plan(toPlanRequests(requests), busy);
+        log.info("Planned {} of {} meetings in {} ms", plan.placements().size(), requests.size(),
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+
+        Map<Integer, String> unplaced = new TreeMap<>(plan.unplaced());
+        List<Meeting> scheduled = dryRun
+                ? toMeetings(plan.placements(), requests, employees)
+                : transactionTemplate.execute(status -> book(plan, requests, employees, unplaced));
+
+        List<Unscheduled> unscheduled = new ArrayList<>();
+        unplaced.forEach((index, reason) ->
+                unscheduled.add(new Unscheduled(index, requests.get(index).getTitle(), reason)));
+        return new BatchResult(scheduled, unscheduled);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private void validate(List<BatchMeetingRequestDTO> requests) {
+        if (requests.size() > properties.getMaxRequests()) {
+            throw new IllegalArgumentException("A batch may contain at most " + properties.getMaxRequests() + " meetings");
+        }
+        for (BatchMeetingRequestDTO request : requests) {
+            if (!request.getWindowStart().isBefore(request.getWindowEnd())) {
+                throw new IllegalArgumentException("Window start must be before window end");
+            }
+            if (Duration.between(request.getWindowStart(), request.getWindowEnd()).compareTo(properties.getMaxWindow()) > 0) {
+                throw new IllegalArgumentException("Scheduling windows may span at most " + properties.getMaxWindow().toDays() + " days");
+            }
+        }
+    }
+
+    private Map<Long, List<BusyInterval>> loadBusyIntervals(List<BatchMeetingRequestDTO> requests, Set<Long> employeeIds) {
+        LocalDateTime start = requests.stream().map(BatchMeetingRequestDTO::getWindowStart)
+                .min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime end = requests.stream().map(BatchMeetingRequestDTO::getWindowEnd)
+                .max(Comparator.naturalOrder()).orElseThrow();
+
+        return loadBusyIntervals(employeeIds, start, end);
+    }
+
+    private Map<Long, List<BusyInterval>> loadBusyIntervals(Set<Long> employeeIds, LocalDateTime start, LocalDateTime end) {
+        return CalendarService.busyIntervalsByEmployee(meetingRepository.findBusyTimes(employeeIds, start, end));
+    }
+
+    private List<PlanRequest> toPlanRequests(List<BatchMeetingRequestDTO> requests) {
+        List<PlanRequest> planRequests = new ArrayList<>(requests.size());
+        for (BatchMeetingRequestDTO request : requests) {
+            planRequests.add(new PlanRequest(attendees(request), Duration.ofMinutes(request.getDurationMinutes()),
+                    request.getWindowStart(), request.getWindowEnd(), request.getPriority()));
+        }
+        return planRequests;
+    }
+
+    private List<Meeting> book(Plan plan, List<BatchMeetingRequestDTO> requests, Map<Long, Employee> employees,
+                               Map<Integer, String> unplaced) {
+        if (plan.placements().isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<Long> attendeeIds = new TreeSet<>();
+        plan.placements().forEach(placement -> attendeeIds.addAll(attendees(requests.get(placement.request()))));
+        employeeRepository.findAllByIdForUpdate(attendeeIds);
+        LocalDateTime start = plan.placements().stream().map(Placement::start)
+                .min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime end = plan.placements().stream().map(Placement::end)
+                .max(Comparator.naturalOrder()).orElseThrow();
+        Map<Long, List<BusyInterval>> busy = loadBusyIntervals(attendeeIds, start, end);
+
+        // Dropping a placement only frees time, so the remaining placements stay valid.
+        List<Placement> confirmed = new ArrayList<>(plan.placements().size());
+        for (Placement placement : plan.placements()) {
+            boolean free = attendees(requests.get(placement.request())).stream()
+                    .allMatch(id -> CalendarService.isFree(busy.getOrDefault(id, List.of()), placement.start(), placement.end()));
+            if (free) {
+                confirmed.add(placement);
+            } else {
+                unplaced.put(placement.request(), CONFLICT_REASON);
+            }
+        }
+        if (confirmed.size() < plan.placements().size()) {
+            log.warn("Dropped {} planned meetings that conflict with meetings booked during planning",
+                    plan.placements().size() - confirmed.size());
+        }
+
+        List<Meeting> booked = new ArrayList<>(confirmed.size());
+        for (Meeting meeting : toMeetings(confirmed, requests, employees)) {
+            booked.add(calendarService.bookMeeting(meeting.getOwner().getId(), meeting));
+        }
+        log.info("Booked {} meetings from the batch", booked.size());
+        return booked;
+    }
+
+    private static Set<Long> attendees(BatchMeetingRequestDTO request) {
+        Set<Long> attendees = new LinkedHashSet<>();
+        attendees.add(request.getOwnerId());
+        attendees.addAll(request.getParticipantIds());
+        return attendees;
+    }
+
+    private List<Meeting> toMeetings(List<Placement> placements, List<BatchMeetingRequestDTO> requests,
+                                     Map<Long, Employee> employees) {
+        List<Meeting> meetings = new ArrayList<>(placements.size());
+        for (Placement placement : placements) {
+            BatchMeetingRequestDTO request = requests.get(placement.request());
+            Meeting meeting = new Meeting();
+            meeting.setTitle(request.getTitle());
+            meeting.setStartTime(placement.start());
+            meeting.setEndTime(placement.end());
+            meeting.setOwner(employees.get(request.getOwnerId()));
+            meeting.setParticipants(request.getParticipantIds().stream()
+                    .distinct()
+                    .filter(id -> !id.equals(request.getOwnerId()))
+                    .map(employees::get)
+                    .collect(Collectors.toList()));
+            meetings.add(meeting);
+        }
+        return meetings;
+    }
+}
@@ -1,15 +1,26 @@
 package org.assignment.service;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.assignment.domainmodel.Employee;
 import org.assignment.domainmodel.Meeting;
+import org.assignment.domainmodel.Room;
+import org.assignment.exceptions.MeetingConflictException;
+import org.assignment.repository.EmployeeBusyTime;
 import org.assignment.repository.EmployeeRepository;
 import org.assignment.repository.MeetingRepository;
+import org.assignment.repository.RoomRepository;
+import org.assignment.schedule.OffHeapScheduleStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,14 +38,39 @@ import java.util.stream.Collectors;
 @Service
 public class CalendarService {
 
+    public static final Duration SEARCH_HORIZON = Duration.ofDays(7);
+    public static final Duration SLOT_INCREMENT = Duration.ofMinutes(30);
+    public static final int WORKDAY_START_HOUR = 9;
+    public static final int WORKDAY_END_HOUR = 17;
+
     private final EmployeeRepository employeeRepository;
     private final MeetingRepository meetingRepository;
+    private final RoomRepository roomRepository;
+    private final ScheduleVersions scheduleVersions;
+    private final OffHeapScheduleStore scheduleStore;
+    private final ObservationRegistry observationRegistry;
+
+    @Autowired
+    public CalendarService(EmployeeRepository employeeRepository, MeetingRepository meetingRepository,
+                           RoomRepository roomRepository, ScheduleVersions scheduleVersions,
+                           ObjectProvider<OffHeapScheduleStore> scheduleStore,
+                           ObjectProvider<ObservationRegistry> observationRegistry) {
+        this(employeeRepository, meetingRepository, roomRepository, scheduleVersions, scheduleStore.getIfAvailable(),
+                observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+    }
 
-    public CalendarService(EmployeeRepository employeeRepository, MeetingRepository meetingRepository) {
+    CalendarService(EmployeeRepository employeeRepository, MeetingRepository meetingRepository,
+                    RoomRepository roomRepository, ScheduleVersions scheduleVersions,
+                    OffHeapScheduleStore scheduleStore, ObservationRegistry observationRegistry) {
         this.employeeRepository = employeeRepository;
         this.meetingRepository = meetingRepository;
+        this.roomRepository = roomRepository;
+        this.scheduleVersions = scheduleVersions;
+        this.scheduleStore = scheduleStore;
+        this.observationRegistry = observationRegistry;
     }
 
+    @Transactional
     public Meeting bookMeeting(Long ownerId, Meeting meeting) {
         log.info("Attempting to book meeting. Owner ID: {}, Meeting Title: {}", ownerId, meeting.getTitle());
         try {
@@ -42,7 +78,20 @@ public class CalendarService {
                     .orElseThrow(() -> new RuntimeException("Owner not found with ID: " + ownerId));
             meeting.setOwner(owner);
 
+            if (meeting.getRoom() != null) {
+                // Without the lock two concurrent bookings could both find the room free and both commit.
+                Long roomId = meeting.getRoom().getId();
+                Room room = roomRepository.findByIdForUpdate(roomId)
+                        .orElseThrow(() -> new IllegalArgumentException("Room not found with ID: " + roomId));
+                meeting.setRoom(room);
+                if (!meetingRepository.findOverlappingRoomMeetings(
+                        List.of(roomId), meeting.getStartTime(), meeting.getEndTime()).isEmpty()) {
+                    throw new MeetingConflictException("Room " + room.getName() + " is already booked");
+                }
+            }
+
             Meeting savedMeeting = meetingRepository.save(meeting);
+            scheduleVersions.recordBookingAfterCommit(savedMeeting);
             log.info("Successfully booked meeting. Meeting ID: {}, Owner: {}, Start Time: {}",
                     savedMeeting.getId(), owner.getName(), savedMeeting.getStartTime());
             return savedMeeting;
@@ -52,64 +101,288 @@ public class CalendarService {
         }
     }
 
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> findFreeSlots(Long employee1Id, Long employee2Id, Duration duration) {
         log.info("Finding free slots for employees. Employee1 ID: {}, Employee2 ID: {}, Duration: {}",
                 employee1Id, employee2Id, duration);
-        try {
+        Observation observation = Observation.createNotStarted("calendar.find-free-slots", observationRegistry)
+                .lowCardinalityKeyValue("calendar.source", useScheduleStore() ? "schedule-store" : "database")
+                .start();
+        try (Observation.Scope ignored = observation.openScope()) {
             Employee employee1 = employeeRepository.findById(employee1Id)
                     .orElseThrow(() -> new RuntimeException("Employee 1 not found"));
             Employee employee2 = employeeRepository.findById(employee2Id)
                     .orElseThrow(() -> new RuntimeException("Employee 2 not found"));
 
-            LocalDateTime now = LocalDateTime.now().withHour(9).withMinute(0).withSecond(0).withNano(0);
-            LocalDateTime end = now.plusDays(7).withHour(17).withMinute(0).withSecond(0).withNano(0);
+            LocalDateTime now = searchWindowStart();
+            LocalDateTime end = searchWindowEnd(now);
 
             log.debug("Searching for meetings between {} and {}", now, end);
 
-            List<Meeting> meetings1 = meetingRepository.findOverlappingMeetings(employee1Id, now, end);
-            List<Meeting> meetings2 = meetingRepository.findOverlappingMeetings(employee2Id, now, end);
-
-            log.debug("Found {} meetings for employee1 and {} meetings for employee2",
-                    meetings1.size(), meetings2.size());
+            List<BusyInterval> busy;
+            if (useScheduleStore()) {
+                busy = storedBusyIntervals(List.of(employee1Id, employee2Id), now, end);
+            } else {
+                List<Meeting> meetings1 = meetingRepository.findOverlappingMeetings(employee1Id, now, end);
+                List<Meeting> meetings2 = meetingRepository.findOverlappingMeetings(employee2Id, now, end);
 
+                log.debug("Found {} meetings for employee1 and {} meetings for employee2",
+                        meetings1.size(), meetings2.size());
+                busy = mergeBusyIntervals(List.of(meetings1, meetings2));
+            }
             List<Map<String, Object>> freeSlots = new ArrayList<>();
             LocalDateTime current = now;
+            int nextBusy = 0;
 
             while (current.isBefore(end)) {
-                if (current.getHour() >= 9 && current.getHour() < 17) {
+                if (current.getHour() >= WORKDAY_START_HOUR && current.getHour() < WORKDAY_END_HOUR) {
                     LocalDateTime slotEnd = current.plus(duration);
-                    if (isSlotFree(current, slotEnd, meetings1) && isSlotFree(current, slotEnd, meetings2)) {
-                        Map<String, Object> slot = new HashMap<>();
-                        slot.put("date", current.toLocalDate().toString());
-                        slot.put("startTime", current.toLocalTime().toString());
-                        slot.put("endTime", slotEnd.toLocalTime().toString());
-                        freeSlots.add(slot);
+                    nextBusy = skipEndedBy(busy, nextBusy, current);
+                    if (isFreeUntil(busy, nextBusy, slotEnd)) {
+                        freeSlots.add(createSlot(current, slotEnd));
                     }
                 }
-                current = current.plusMinutes(30);
+                current = current.plus(SLOT_INCREMENT);
             }
 
             log.info("Found {} free slots for employees {} and {}",
                     freeSlots.size(), employee1.getName(), employee2.getName());
+            observation.highCardinalityKeyValue("calendar.busy-intervals", String.valueOf(busy.size()))
+                    .highCardinalityKeyValue("calendar.slots", String.valueOf(freeSlots.size()));
             return freeSlots;
 
         } catch (RuntimeException e) {
             log.error("Error finding free slots. Employee1 ID: {}, Employee2 ID: {}, Error: {}",
                     employee1Id, employee2Id, e.getMessage(), e);
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /**
+     * Finds slots where all participants are free and at least one room with enough capacity
+     * is available. People's meetings are merged into one busy timeline and every candidate
+     * room gets its own timeline; a single sweep over the slot grid then advances all of them
+     * together, preferring the smallest suitable room for each free slot.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findFreeSlotsWithRoom(List<Long> participantIds, Duration duration,
+                                                           int minCapacity) {
+        log.info("Finding free slots with a room. Participants: {}, Duration: {}, Minimum capacity: {}",
+                participantIds, duration, minCapacity);
+        Observation observation = Observation.createNotStarted("calendar.find-free-slots-with-room", observationRegistry)
+                .lowCardinalityKeyValue("calendar.source", useScheduleStore() ? "schedule-store" : "database")
+                .highCardinalityKeyValue("calendar.attendees", String.valueOf(participantIds.size()))
+                .start();
+        try (Observation.Scope ignored = observation.openScope()) {
+            List<Employee> participants = employeeRepository.findAllById(participantIds);
+            if (participants.size() != participantIds.size()) {
+                throw new RuntimeException("One or more participants not found");
+            }
+
+            LocalDateTime now = searchWindowStart();
+            LocalDateTime end = searchWindowEnd(now);
+
+            List<BusyInterval> peopleBusy;
+            if (useScheduleStore()) {
+                peopleBusy = storedBusyIntervals(participantIds, now, end);
+            } else {
+                List<BusyInterval> intervals = new ArrayList<>();
+                for (EmployeeBusyTime busyTime : meetingRepository.findBusyTimes(participantIds, now, end)) {
+                    intervals.add(new BusyInterval(busyTime.startTime(), busyTime.endTime()));
+                }
+                peopleBusy = mergeIntervals(intervals);
+            }
+
+            List<Room> rooms = roomRepository.findByCapacityGreaterThanEqualOrderByCapacityAscIdAsc(minCapacity);
+            observation.highCardinalityKeyValue("calendar.rooms", String.valueOf(rooms.size()));
+            if (rooms.isEmpty()) {
+                log.info("No rooms with capacity of at least {}", minCapacity);
+                observation.highCardinalityKeyValue("calendar.slots", "0");
+                return new ArrayList<>();
+            }
+            Map<Long, List<Meeting>> meetingsByRoom = meetingRepository.findOverlappingRoomMeetings(
+                            rooms.stream().map(Room::getId).collect(Collectors.toList()), now, end).stream()
+                    .collect(Collectors.groupingBy(meeting -> meeting.getRoom().getId()));
+            List<List<BusyInterval>> roomBusy = new ArrayList<>(rooms.size());
+            for (Room room : rooms) {
+                roomBusy.add(mergeBusyIntervals(List.of(meetingsByRoom.getOrDefault(room.getId(), List.of()))));
+            }
+
+            log.debug("Checking {} rooms against {} busy intervals for {} participants",
+                    rooms.size(), peopleBusy.size(), participantIds.size());
+
+            List<Map<String, Object>> freeSlots = new ArrayList<>();
+            int[] nextRoomBusy = new int[rooms.size()];
+            int nextBusy = 0;
+            LocalDateTime current = now;
+
+            while (current.isBefore(end)) {
+                if (current.getHour() >= WORKDAY_START_HOUR && current.getHour() < WORKDAY_END_HOUR) {
+                    LocalDateTime slotEnd = current.plus(duration);
+                    nextBusy = skipEndedBy(peopleBusy, nextBusy, current);
+                    if (isFreeUntil(peopleBusy, nextBusy, slotEnd)) {
+                        for (int i = 0; i < rooms.size(); i++) {
+                            nextRoomBusy[i] = skipEndedBy(roomBusy.get(i), nextRoomBusy[i], current);
+                            if (isFreeUntil(roomBusy.get(i), nextRoomBusy[i], slotEnd)) {
+                                Map<String, Object> slot = createSlot(current, slotEnd);
+                                slot.put("roomId", rooms.get(i).getId());
+                                slot.put("roomName", rooms.get(i).getName());
+                                slot.put("roomCapacity", rooms.get(i).getCapacity());
+                                freeSlots.add(slot);
+                                break;
+                            }
+                        }
+                    }
+                }
+                current = current.plus(SLOT_INCREMENT);
+            }
+
+            log.info("Found {} free slots with a room for {} participants", freeSlots.size(), participantIds.size());
+            observation.highCardinalityKeyValue("calendar.busy-intervals", String.valueOf(peopleBusy.size()))
+                    .highCardinalityKeyValue("calendar.slots", String.valueOf(freeSlots.size()));
+            return freeSlots;
+
+        } catch (RuntimeException e) {
+            log.error("Error finding free slots with a room. Participants: {}, Error: {}",
+                    participantIds, e.getMessage(), e);
+            observation.error(e);
             throw e;
+        } finally {
+            observation.stop();
         }
     }
 
-    private boolean isSlotFree(LocalDateTime start, LocalDateTime end, List<Meeting> meetings) {
-        log.trace("Checking if slot is free between {} and {}", start, end);
-        boolean isFree = meetings.stream().noneMatch(meeting ->
-                (meeting.getStartTime().isBefore(end) && meeting.getEndTime().isAfter(start)) ||
-                        (meeting.getStartTime().isAfter(start) && meeting.getStartTime().isBefore(end))
-        );
-        log.trace("Slot {} free between {} and {}", isFree ? "is" : "is not", start, end);
-        return isFree;
+    record BusyInterval(LocalDateTime start, LocalDateTime end) {
     }
 
+    /**
+     * Merges the meetings of several calendars into a sorted list of non-overlapping busy intervals.
+     */
+    static List<BusyInterval> mergeBusyIntervals(List<List<Meeting>> calendars) {
+        List<BusyInterval> intervals = new ArrayList<>();
+        for (List<Meeting> meetings : calendars) {
+            for (Meeting meeting : meetings) {
+                intervals.add(new BusyInterval(meeting.getStartTime(), meeting.getEndTime()));
+            }
+        }
+        return mergeIntervals(intervals);
+    }
+
+    /**
+     * Merged busy intervals of several employees from the off-heap schedule store.
+     */
+    private List<BusyInterval> storedBusyIntervals(List<Long> employeeIds, LocalDateTime start, LocalDateTime end) {
+        List<BusyInterval> intervals = new ArrayList<>();
+        for (Long employeeId : employeeIds) {
+            int[] minutes = scheduleStore.busyMinutes(employeeId, start, end);
+            for (int i = 0; i < minutes.length; i += 2) {
+                intervals.add(new BusyInterval(OffHeapScheduleStore.toDateTime(minutes[i]),
+                        OffHeapScheduleStore.toDateTime(minutes[i + 1])));
+            }
+        }
+        return mergeIntervals(intervals);
+    }
+
+    private boolean useScheduleStore() {
+        return scheduleStore != null && scheduleStore.isReady();
+    }
+
+    private boolean hasConflict(Long employeeId, LocalDateTime start, LocalDateTime end) {
+        if (useScheduleStore()) {
+            return !scheduleStore.isFree(employeeId, start, end);
+        }
+        List<Meeting> conflicts = meetingRepository.findOverlappingMeetings(employeeId, start, end);
+        log.debug("Found {} conflicting meetings for employee {}", conflicts.size(), employeeId);
+        return !conflicts.isEmpty();
+    }
+
+    /**
+     * Groups busy times by employee and merges each employee's times into busy intervals.
+     */
+    static Map<Long, List<BusyInterval>> busyIntervalsByEmployee(List<EmployeeBusyTime> busyTimes) {
+        Map<Long, List<BusyInterval>> byEmployee = new HashMap<>();
+        for (EmployeeBusyTime busyTime : busyTimes) {
+            byEmployee.computeIfAbsent(busyTime.employeeId(), id -> new ArrayList<>())
+                    .add(new BusyInterval(busyTime.startTime(), busyTime.endTime()));
+        }
+        byEmployee.replaceAll((employeeId, intervals) -> mergeIntervals(intervals));
+        return byEmployee;
+    }
+
+    private static List<BusyInterval> mergeIntervals(List<BusyInterval> intervals) {
+        intervals.sort(Comparator.comparing(BusyInterval::start));
+
+        List<BusyInterval> merged = new ArrayList<>(intervals.size());
+        for (BusyInterval interval : intervals) {
+            int last = merged.size() - 1;
+            if (last >= 0 && !interval.start().isAfter(merged.get(last).end())) {
+                if (interval.end().isAfter(merged.get(last).end())) {
+                    merged.set(last, new BusyInterval(merged.get(last).start(), interval.end()));
+                }
+            } else {
+                merged.add(interval);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Index of the first interval in a merged list that ends after {@code time}.
+     */
+    static int firstEndingAfter(List<BusyInterval> intervals, LocalDateTime time) {
+        int low = 0;
+        int high = intervals.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (intervals.get(mid).end().isAfter(time)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    static boolean isFree(List<BusyInterval> intervals, LocalDateTime start, LocalDateTime end) {
+        int next = firstEndingAfter(intervals, start);
+        return next == intervals.size() || !intervals.get(next).start().isBefore(end);
+    }
+
+    /**
+     * Advances past busy intervals that end at or before {@code time}; slot starts only move forward.
+     */
+    private static int skipEndedBy(List<BusyInterval> busy, int from, LocalDateTime time) {
+        int next = from;
+        while (next < busy.size() && !busy.get(next).end().isAfter(time)) {
+            next++;
+        }
+        return next;
+    }
+
+    private static boolean isFreeUntil(List<BusyInterval> busy, int next, LocalDateTime slotEnd) {
+        return next >= busy.size() || !busy.get(next).start().isBefore(slotEnd);
+    }
+
+    private static Map<String, Object> createSlot(LocalDateTime start, LocalDateTime end) {
+        Map<String, Object> slot = new HashMap<>();
+        slot.put("date", start.toLocalDate().toString());
+        slot.put("startTime", start.toLocalTime().toString());
+        slot.put("endTime", end.toLocalTime().toString());
+        return slot;
+    }
+
+    static LocalDateTime searchWindowStart() {
+        return LocalDateTime.now().withHour(WORKDAY_START_HOUR).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    private static LocalDateTime searchWindowEnd(LocalDateTime start) {
+        return start.plus(SEARCH_HORIZON).withHour(WORKDAY_END_HOUR).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @Transactional(readOnly = true)
     public List<Employee> findConflicts(Meeting proposedMeeting) {
         log.info("Checking conflicts for meeting. Title: {}, Start: {}, End: {}",
                 proposedMeeting.getTitle(),
@@ -117,34 +390,22 @@ public class CalendarService {
                 proposedMeeting.getEndTime());
 
         List<Employee> conflictingEmployees = new ArrayList<>();
+        Observation observation = Observation.createNotStarted("calendar.find-conflicts", observationRegistry)
+                .lowCardinalityKeyValue("calendar.source", useScheduleStore() ? "schedule-store" : "database")
+                .highCardinalityKeyValue("calendar.attendees",
+                        String.valueOf(1 + proposedMeeting.getParticipants().size()))
+                .start();
 
-        try {
+        try (Observation.Scope ignored = observation.openScope()) {
             // Check for owner conflicts
-            List<Meeting> ownerConflicts = meetingRepository.findOverlappingMeetings(
-                    proposedMeeting.getOwner().getId(),
-                    proposedMeeting.getStartTime(),
-                    proposedMeeting.getEndTime()
-            );
-
-            log.debug("Found {} conflicting meetings for owner {}",
-                    ownerConflicts.size(), proposedMeeting.getOwner().getName());
-
-            if (!ownerConflicts.isEmpty()) {
+            if (hasConflict(proposedMeeting.getOwner().getId(),
+                    proposedMeeting.getStartTime(), proposedMeeting.getEndTime())) {
                 conflictingEmployees.add(proposedMeeting.getOwner());
             }
 
             // Check for participant conflicts
             for (Employee participant : proposedMeeting.getParticipants()) {
-                List<Meeting> participantConflicts = meetingRepository.findOverlappingMeetings(
-                        participant.getId(),
-                        proposedMeeting.getStartTime(),
-                        proposedMeeting.getEndTime()
-                );
-
-                log.debug("Found {} conflicting meetings for participant {}",
-                        participantConflicts.size(), participant.getName());
-
-                if (!participantConflicts.isEmpty()) {
+                if (hasConflict(participant.getId(), proposedMeeting.getStartTime(), proposedMeeting.getEndTime())) {
                     conflictingEmployees.add(participant);
                 }
             }
@@ -159,12 +420,16 @@ public class CalendarService {
                 log.info("No conflicts found for the proposed meeting");
             }
 
+            observation.highCardinalityKeyValue("calendar.conflicts", String.valueOf(conflictingEmployees.size()));
             return conflictingEmployees;
 
         } catch (Exception e) {
             log.error("Error checking meeting conflicts. Meeting ID: {}, Error: {}",
                     proposedMeeting.getId(), e.getMessage(), e);
+            observation.error(e);
             throw e;
+        } finally {
+            observation.stop();
         }
     }
 }
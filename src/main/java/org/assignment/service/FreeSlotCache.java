@@ -0,0 +1,156 @@
+package org.assignment.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.assignment.replica.ReplicationTracker;
+import org.assignment.tenant.TenantContext;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches free-slot search results per query. Entries are tagged with the schedule versions of
+ * both employees, the global epoch and the day the search window starts, so a booking
+ * invalidates exactly the queries it affects and the same tag serves as the response ETag.
+ * <p>
+ * Every tenant has its own partition with its own size limit, so a busy tenant only evicts
+ * its own entries. A full partition evicts its least recently used entry.
+ * <p>
+ * While replica routing is enabled a search may read from a replica that lacks the latest
+ * writes, so results are only cached, and tagged, while the replica has caught up.
+ */
+@Slf4j
+@Component
+public class FreeSlotCache implements MeterBinder {
+
+    private final ScheduleVersions scheduleVersions;
+    private final FreeSlotCacheProperties properties;
+    private final ObjectProvider<ReplicationTracker> replicationTracker;
+    private final Map<String, Map<Query, Entry>> partitions = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+
+    public FreeSlotCache(ScheduleVersions scheduleVersions, FreeSlotCacheProperties properties,
+                         ObjectProvider<ReplicationTracker> replicationTracker) {
+        this.scheduleVersions = scheduleVersions;
+        this.properties = properties;
+        this.replicationTracker = replicationTracker;
+    }
+
+    /**
+     * Identifies one search and the schedule state it is answered from. Results may only be
+     * stored or tagged when {@code cacheable} is set.
+     */
+    public record Key(Query query, String etag, boolean cacheable) {
+    }
+
+    record Query(String tenant, long employeeA, long employeeB, int durationMinutes, LocalDate windowStart) {
+    }
+
+    private record Entry(String etag, List<Map<String, Object>> slots) {
+    }
+
+    public Key key(Long employee1Id, Long employee2Id, int durationMinutes) {
+        // The result does not depend on the order of the two employees.
+        long employeeA = Math.min(employee1Id, employee2Id);
+        long employeeB = Math.max(employee1Id, employee2Id);
+        Query query = new Query(TenantContext.current(), employeeA, employeeB, durationMinutes,
+                CalendarService.searchWindowStart().toLocalDate());
+        String etag = "\"" + query.tenant() + "-" + employeeA + "-" + employeeB + "-" + durationMinutes
+                + "-" + query.windowStart()
+                + "-" + scheduleVersions.version(employeeA) + "." + scheduleVersions.version(employeeB)
+                + "." + scheduleVersions.epoch() + "\"";
+        return new Key(query, etag, properties.isEnabled() && replicaCaughtUp());
+    }
+
+    public Optional<List<Map<String, Object>>> get(Key key) {
+        if (!key.cacheable()) {
+            return Optional.empty();
+        }
+        Entry entry = partition(key.query().tenant()).get(key.query());
+        if (entry == null || !entry.etag().equals(key.etag())) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        hits.incrementAndGet();
+        return Optional.of(entry.slots());
+    }
+
+    public void put(Key key, List<Map<String, Object>> slots) {
+        if (!key.cacheable()) {
+            return;
+        }
+        partition(key.query().tenant()).put(key.query(), new Entry(key.etag(), List.copyOf(slots)));
+    }
+
+    public void recordNotModified() {
+        notModified.incrementAndGet();
+    }
+
+    int size() {
+        return partitions.values().stream().mapToInt(Map::size).sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("calendar.free-slot-cache.entries", this, FreeSlotCache::size)
+                .register(registry);
+        Gauge.builder("calendar.free-slot-cache.partitions", partitions, Map::size)
+                .register(registry);
+        FunctionCounter.builder("calendar.free-slot-cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("calendar.free-slot-cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("calendar.free-slot-cache.requests", notModified, AtomicLong::get)
+                .tag("result", "not-modified")
+                .register(registry);
+    }
+
+    private boolean replicaCaughtUp() {
+        // Checked after the versions were read; see ScheduleVersions#bumpAfterCommit.
+        ReplicationTracker tracker = replicationTracker.getIfAvailable();
+        return tracker == null || tracker.appliedSequence() >= tracker.writeSequence();
+    }
+
+    private Map<Query, Entry> partition(String tenant) {
+        return partitions.computeIfAbsent(tenant, key ->
+                Collections.synchronizedMap(new Partition(key, properties.getMaxEntries())));
+    }
+
+    /**
+     * Access-ordered, so the eldest entry is the least recently used one and evicting it is O(1).
+     */
+    private static final class Partition extends LinkedHashMap<Query, Entry> {
+        private final String tenant;
+        private final int maxEntries;
+
+        Partition(String tenant, int maxEntries) {
+            super(16, 0.75f, true);
+            this.tenant = tenant;
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Query, Entry> eldest) {
+            if (size() <= maxEntries) {
+                return false;
+            }
+            log.debug("Evicted a free-slot cache entry of tenant {}", tenant);
+            return true;
+        }
+    }
+}
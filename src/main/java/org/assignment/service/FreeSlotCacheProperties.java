@@ -0,0 +1,17 @@
+package org.assignment.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the free-slot response cache, bound from {@code calendar.free-slot-cache.*}.
+ * {@code maxEntries} applies to each tenant's partition separately.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "calendar.free-slot-cache")
+public class FreeSlotCacheProperties {
+    private boolean enabled = true;
+    private int maxEntries = 10_000;
+}
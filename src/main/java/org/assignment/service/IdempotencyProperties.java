@@ -0,0 +1,18 @@
+package org.assignment.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for booking deduplication, bound from {@code calendar.idempotency.*}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "calendar.idempotency")
+public class IdempotencyProperties {
+    private Duration ttl = Duration.ofHours(24);
+    private int maxCachedKeys = 100_000;
+}
@@ -0,0 +1,238 @@
+package org.assignment.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.assignment.datamanager.MeetingResponseDTO;
+import org.assignment.domainmodel.IdempotencyRecord;
+import org.assignment.exceptions.IdempotencyKeyReuseException;
+import org.assignment.repository.IdempotencyRecordRepository;
+import org.assignment.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates booking requests carrying an {@code Idempotency-Key}.
+ * <p>
+ * Keys are first looked up in a bounded in-memory map, which only needs lock-free reads and
+ * a single {@code putIfAbsent} on the hot path. Concurrent requests with the same key wait for
+ * the first one instead of booking twice. Completed responses are also written to the
+ * {@code idempotency_record} table in the same transaction as the booking, so a replay is
+ * still recognised after a restart or on another instance. Entries expire after the
+ * configured TTL.
+ * <p>
+ * Keys are also queued in the order they were first cached. Once the map holds more than
+ * {@code maxCachedKeys}, the oldest completed entries are evicted from the head of that queue,
+ * so a full cache costs a booking a few queue polls rather than a scan of the map.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+    private final Clock clock;
+    private final Map<String, CachedResponse> cache = new ConcurrentHashMap<>();
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              IdempotencyProperties properties) {
+        this(idempotencyRecordRepository, transactionManager, objectMapper, properties, Clock.systemDefaultZone());
+    }
+
+    IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                       PlatformTransactionManager transactionManager,
+                       ObjectMapper objectMapper,
+                       IdempotencyProperties properties,
+                       Clock clock) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    public record Result(MeetingResponseDTO response, boolean replayed) {
+    }
+
+    /**
+     * Either the stored record of an earlier request with the same key, or the new booking.
+     */
+    private record Attempt(IdempotencyRecord stored, MeetingResponseDTO booked) {
+    }
+
+    private record CachedResponse(String fingerprint, LocalDateTime createdAt,
+                                  CompletableFuture<MeetingResponseDTO> response) {
+    }
+
+    public static String fingerprint(Object... requestParts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(Arrays.deepToString(requestParts).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public Result execute(String idempotencyKey, String fingerprint, Supplier<MeetingResponseDTO> booking) {
+        // Tenants choose their keys independently, so the same key may be in use by several of them.
+        String scopedKey = TenantContext.current() + "/" + idempotencyKey;
+        if (scopedKey.length() > IdempotencyRecord.MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key must be at most "
+                    + (IdempotencyRecord.MAX_KEY_LENGTH - scopedKey.length() + idempotencyKey.length()) + " characters");
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        CachedResponse pending = new CachedResponse(fingerprint, now, new CompletableFuture<>());
+        while (true) {
+            CachedResponse cached = cache.get(scopedKey);
+            if (cached != null && !isExpired(cached.createdAt(), now)) {
+                return replay(idempotencyKey, fingerprint, cached);
+            }
+            if (cached == null && cache.putIfAbsent(scopedKey, pending) == null) {
+                insertionOrder.add(scopedKey);
+                break;
+            }
+            if (cached != null && cache.replace(scopedKey, cached, pending)) {
+                break;
+            }
+        }
+        trimCache();
+
+        try {
+            // The stored record is looked up in the booking's read-write transaction, which runs on
+            // the primary: a read-only lookup may be routed to a replica that has not seen it yet.
+            Attempt attempt = transactionTemplate.execute(status -> {
+                Optional<IdempotencyRecord> stored = idempotencyRecordRepository.findById(scopedKey)
+                        .filter(record -> !isExpired(record.getCreatedAt(), now));
+                if (stored.isPresent()) {
+                    return new Attempt(stored.get(), null);
+                }
+                MeetingResponseDTO booked = booking.get();
+                IdempotencyRecord record = new IdempotencyRecord();
+                record.setIdempotencyKey(scopedKey);
+                record.setRequestFingerprint(fingerprint);
+                record.setResponseBody(serialize(booked));
+                record.setCreatedAt(now);
+                idempotencyRecordRepository.save(record);
+                return new Attempt(null, booked);
+            });
+            if (attempt.stored() != null) {
+                IdempotencyRecord record = attempt.stored();
+                MeetingResponseDTO response = deserialize(record);
+                pending.response().complete(response);
+                cache.put(scopedKey, new CachedResponse(record.getRequestFingerprint(), record.getCreatedAt(),
+                        CompletableFuture.completedFuture(response)));
+                checkFingerprint(idempotencyKey, fingerprint, record.getRequestFingerprint());
+                log.info("Replaying stored response for idempotency key {}", idempotencyKey);
+                return new Result(response, true);
+            }
+
+            pending.response().complete(attempt.booked());
+            return new Result(attempt.booked(), false);
+        } catch (RuntimeException e) {
+            // Let a later retry with the same key run the booking again.
+            cache.remove(scopedKey, pending);
+            pending.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${calendar.idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(properties.getTtl());
+        cache.values().removeIf(entry -> entry.response().isDone() && entry.createdAt().isBefore(cutoff));
+        insertionOrder.removeIf(key -> !cache.containsKey(key));
+        int deleted = transactionTemplate.execute(status -> idempotencyRecordRepository.deleteCreatedBefore(cutoff));
+        log.info("Purged {} expired idempotency records older than {}", deleted, cutoff);
+    }
+
+    int cachedKeys() {
+        return cache.size();
+    }
+
+    private Result replay(String idempotencyKey, String fingerprint, CachedResponse cached) {
+        checkFingerprint(idempotencyKey, fingerprint, cached.fingerprint());
+        log.info("Replaying response for idempotency key {}", idempotencyKey);
+        try {
+            return new Result(cached.response().join(), true);
+        } catch (CompletionException e) {
+            // The original attempt failed; surface its error rather than booking concurrently.
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void checkFingerprint(String idempotencyKey, String expected, String actual) {
+        if (!expected.equals(actual)) {
+            throw new IdempotencyKeyReuseException(
+                    "Idempotency key " + idempotencyKey + " was already used for a different request");
+        }
+    }
+
+    private boolean isExpired(LocalDateTime createdAt, LocalDateTime now) {
+        return createdAt.plus(properties.getTtl()).isBefore(now);
+    }
+
+    private void trimCache() {
+        // Persisted records still answer replays for keys evicted here. Requests still in flight
+        // go back to the tail; the attempt limit keeps a queue of only in-flight keys from spinning.
+        int attempts = cache.size() - properties.getMaxCachedKeys();
+        while (attempts-- > 0 && cache.size() > properties.getMaxCachedKeys()) {
+            String key = insertionOrder.poll();
+            if (key == null) {
+                return;
+            }
+            CachedResponse entry = cache.get(key);
+            if (entry == null) {
+                attempts++;
+            } else if (entry.response().isDone()) {
+                cache.remove(key, entry);
+            } else {
+                insertionOrder.add(key);
+            }
+        }
+    }
+
+    private String serialize(MeetingResponseDTO response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to store booking response", e);
+        }
+    }
+
+    private MeetingResponseDTO deserialize(IdempotencyRecord record) {
+        try {
+            return objectMapper.readValue(record.getResponseBody(), MeetingResponseDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to read stored booking response", e);
+        }
+    }
+}
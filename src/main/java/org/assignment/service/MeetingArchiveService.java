@@ -0,0 +1,93 @@
+package org.assignment.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.assignment.domainmodel.ArchivedMeeting;
+import org.assignment.repository.ArchivedMeetingRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps the live {@code meeting} table limited to recent and upcoming meetings.
+ * Meetings that ended before the retention cutoff are moved, in batches of set-based
+ * statements, into {@code archived_meeting}; scheduling queries never read that table,
+ * and historical lookups go through {@link #findHistoricalMeetings} instead.
+ */
+@Slf4j
+@Service
+public class MeetingArchiveService {
+
+    private final ArchivedMeetingRepository archivedMeetingRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveProperties properties;
+
+    public MeetingArchiveService(ArchivedMeetingRepository archivedMeetingRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 ArchiveProperties properties) {
+        this.archivedMeetingRepository = archivedMeetingRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${calendar.archive.cron:0 0 2 * * *}")
+    public void archiveExpiredMeetings() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        archiveMeetingsEndedBefore(LocalDateTime.now().minus(properties.getRetention()));
+    }
+
+    public int archiveMeetingsEndedBefore(LocalDateTime cutoff) {
+        log.info("Archiving meetings that ended before {}", cutoff);
+        int archived = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            archived += moved;
+        } while (moved > 0);
+
+        log.info("Archived {} meetings that ended before {}", archived, cutoff);
+        return archived;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ArchivedMeeting> findHistoricalMeetings(Long employeeId, LocalDateTime start, LocalDateTime end) {
+        log.info("Looking up archived meetings. Employee ID: {}, From: {}, To: {}", employeeId, start, end);
+        return archivedMeetingRepository.findHistoricalMeetings(employeeId, start, end);
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        Timestamp cutoffTimestamp = Timestamp.valueOf(cutoff);
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM meeting WHERE end_time < ? ORDER BY id LIMIT ?",
+                Long.class, cutoffTimestamp, properties.getBatchSize());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Long firstId = ids.get(0);
+        Long lastId = ids.get(ids.size() - 1);
+        String batch = "SELECT id FROM meeting WHERE end_time < ? AND id BETWEEN ? AND ?";
+
+        jdbcTemplate.update("INSERT INTO archived_meeting (id, title, start_time, end_time, tenant_id, owner_id, room_id, archived_at) " +
+                        "SELECT id, title, start_time, end_time, tenant_id, owner_id, room_id, ? FROM meeting " +
+                        "WHERE end_time < ? AND id BETWEEN ? AND ?",
+                Timestamp.valueOf(LocalDateTime.now()), cutoffTimestamp, firstId, lastId);
+        jdbcTemplate.update("INSERT INTO archived_meeting_participants (archived_meeting_id, participant_id) " +
+                        "SELECT meeting_id, participants_id FROM meeting_participants WHERE meeting_id IN (" + batch + ")",
+                cutoffTimestamp, firstId, lastId);
+        jdbcTemplate.update("DELETE FROM meeting_participants WHERE meeting_id IN (" + batch + ")",
+                cutoffTimestamp, firstId, lastId);
+        return jdbcTemplate.update("DELETE FROM meeting WHERE end_time < ? AND id BETWEEN ? AND ?",
+                cutoffTimestamp, firstId, lastId);
+    }
+}
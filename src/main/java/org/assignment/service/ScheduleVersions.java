@@ -0,0 +1,110 @@
+package org.assignment.service;
+
+import org.assignment.domainmodel.Meeting;
+import org.assignment.schedule.OffHeapScheduleStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-employee schedule version counters. Every committed change to an employee's meetings
+ * bumps that employee's counter, so anything derived from a schedule can be keyed by the
+ * versions it was computed from instead of expiring after a guessed TTL. A global epoch covers
+ * bulk changes that do not name employees.
+ * <p>
+ * Readers must take the versions before reading the schedule and writers bump only after
+ * commit; a result computed from older data then always carries an older version. New
+ * bookings also reach the {@link OffHeapScheduleStore} here, when it is enabled, just before
+ * the bump.
+ */
+@Component
+public class ScheduleVersions {
+
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+    private final OffHeapScheduleStore scheduleStore;
+
+    ScheduleVersions() {
+        this((OffHeapScheduleStore) null);
+    }
+
+    @Autowired
+    public ScheduleVersions(ObjectProvider<OffHeapScheduleStore> scheduleStore) {
+        this(scheduleStore.getIfAvailable());
+    }
+
+    ScheduleVersions(OffHeapScheduleStore scheduleStore) {
+        this.scheduleStore = scheduleStore;
+    }
+
+    public long version(Long employeeId) {
+        return versions.getOrDefault(employeeId, 0L);
+    }
+
+    public long epoch() {
+        return epoch.get();
+    }
+
+    /**
+     * Bumps the given employees once the current transaction commits, or right away outside a
+     * transaction. Registered as an after-completion callback, so it runs after callbacks the
+     * transaction registered earlier, such as the replica write tracking.
+     */
+    public void bumpAfterCommit(Collection<Long> employeeIds) {
+        List<Long> ids = List.copyOf(employeeIds);
+        afterCommit(() -> bump(ids));
+    }
+
+    /**
+     * Records a booked meeting once the current transaction commits: adds it to the schedule
+     * store, if any, and bumps the versions of its owner and participants.
+     */
+    public void recordBookingAfterCommit(Meeting meeting) {
+        List<Long> attendeeIds = new ArrayList<>();
+        attendeeIds.add(meeting.getOwner().getId());
+        if (meeting.getParticipants() != null) {
+            meeting.getParticipants().forEach(participant -> attendeeIds.add(participant.getId()));
+        }
+        if (scheduleStore != null) {
+            LocalDateTime start = meeting.getStartTime();
+            LocalDateTime end = meeting.getEndTime();
+            afterCommit(() -> attendeeIds.forEach(id -> scheduleStore.add(id, start, end)));
+        }
+        bumpAfterCommit(attendeeIds);
+    }
+
+    public void bumpAll() {
+        epoch.incrementAndGet();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private void bump(Collection<Long> employeeIds) {
+        for (Long employeeId : employeeIds) {
+            versions.merge(employeeId, 1L, Long::sum);
+        }
+    }
+}
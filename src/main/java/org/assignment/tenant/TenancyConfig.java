@@ -0,0 +1,27 @@
+package org.assignment.tenant;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean;
+
+@Configuration
+public class TenancyConfig {
+
+    /**
+     * Makes every JPA repository a {@link TenantAwareJpaRepository} while leaving repository
+     * scanning and bootstrapping to Spring Boot.
+     */
+    @Bean
+    public static BeanPostProcessor tenantAwareRepositoryPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof JpaRepositoryFactoryBean<?, ?, ?> factoryBean) {
+                    factoryBean.setRepositoryBaseClass(TenantAwareJpaRepository.class);
+                }
+                return bean;
+            }
+        };
+    }
+}
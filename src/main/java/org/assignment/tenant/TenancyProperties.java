@@ -0,0 +1,21 @@
+package org.assignment.tenant;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Settings for tenant resolution, bound from {@code calendar.tenancy.*}. Requests without the
+ * tenant header belong to {@link TenantContext#DEFAULT_TENANT}. Only the listed tenants and the
+ * default one are accepted, so with an empty list every request runs as the default tenant.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "calendar.tenancy")
+public class TenancyProperties {
+    private String tenantHeader = "X-Tenant-Id";
+    private Set<String> tenants = new HashSet<>();
+}
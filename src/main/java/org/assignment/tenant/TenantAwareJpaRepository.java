@@ -0,0 +1,29 @@
+package org.assignment.tenant;
+
+import jakarta.persistence.EntityManager;
+import org.assignment.domainmodel.TenantScoped;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+
+import java.util.Optional;
+
+/**
+ * Repository base class that keeps lookups by ID inside the current tenant. Hibernate applies
+ * the tenant restriction to queries but not to loading an entity by its primary key, so an ID
+ * from another tenant would otherwise resolve.
+ */
+public class TenantAwareJpaRepository<T, ID> extends SimpleJpaRepository<T, ID> {
+
+    public TenantAwareJpaRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+    }
+
+    @Override
+    public Optional<T> findById(ID id) {
+        return super.findById(id).filter(TenantAwareJpaRepository::belongsToCurrentTenant);
+    }
+
+    private static boolean belongsToCurrentTenant(Object entity) {
+        return !(entity instanceof TenantScoped scoped) || TenantContext.current().equals(scoped.getTenantId());
+    }
+}
@@ -0,0 +1,55 @@
+package org.assignment.tenant;
+
+import java.util.function.Supplier;
+
+/**
+ * The tenant a request or background task works for. Entities, caches and limits are all
+ * partitioned by it; work that is not bound to a tenant runs as {@link #DEFAULT_TENANT}.
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String current() {
+        String tenant = CURRENT.get();
+        return tenant != null ? tenant : DEFAULT_TENANT;
+    }
+
+    /**
+     * Runs {@code action} as {@code tenant}, restoring the previous tenant afterwards. Database
+     * sessions pick up their tenant when they are opened, so transactions must start inside.
+     */
+    public static <T> T callAs(String tenant, Supplier<T> action) {
+        String previous = CURRENT.get();
+        CURRENT.set(tenant);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public static void runAs(String tenant, Runnable action) {
+        callAs(tenant, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    static void set(String tenant) {
+        CURRENT.set(tenant);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,85 @@
+package org.assignment.tenant;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.assignment.exceptions.ErrorResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.regex.Pattern;
+
+/**
+ * Binds the tenant named in the tenant header to the request thread. Runs as a servlet filter
+ * rather than a handler interceptor because the open-in-view session, which fixes its tenant
+ * when it is opened, is created before any interceptor runs.
+ * <p>
+ * Only the default tenant and the configured ones are accepted. Rate limits, admission budgets
+ * and the free-slot cache keep state per tenant, so accepting any well-formed ID would let a
+ * client get fresh limits by changing the header and grow that state without bound.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class TenantFilter extends OncePerRequestFilter {
+
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final TenancyProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public TenantFilter(TenancyProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String tenant = request.getHeader(properties.getTenantHeader());
+        if (!StringUtils.hasText(tenant)) {
+            tenant = TenantContext.DEFAULT_TENANT;
+        } else if (!isAccepted(tenant)) {
+            log.warn("Rejecting request for unknown tenant {}", tenant);
+            reject(response, "Unknown tenant: " + tenant);
+            return;
+        }
+        // Responses differ per tenant, so shared caches must not serve one tenant's ETags to another.
+        response.addHeader(HttpHeaders.VARY, properties.getTenantHeader());
+        TenantContext.set(tenant);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private boolean isAccepted(String tenant) {
+        if (!TENANT_ID.matcher(tenant).matches()) {
+            return false;
+        }
+        return tenant.equals(TenantContext.DEFAULT_TENANT) || properties.getTenants().contains(tenant);
+    }
+
+    private void reject(HttpServletResponse response, String message) throws IOException {
+        ErrorResponse error = new ErrorResponse();
+        error.setTimestamp(LocalDateTime.now());
+        error.setStatus(HttpStatus.BAD_REQUEST.value());
+        error.setError(HttpStatus.BAD_REQUEST.getReasonPhrase());
+        error.setMessage(message);
+        response.setStatus(HttpStatus.BAD_REQUEST.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
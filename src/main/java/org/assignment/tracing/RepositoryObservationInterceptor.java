@@ -0,0 +1,62 @@
+package org.assignment.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Observes each repository method call as a {@code calendar.repository} span named after the
+ * repository and method, with the number of rows returned for collection and optional results.
+ */
+public class RepositoryObservationInterceptor implements MethodInterceptor {
+
+    static final String OBSERVATION_NAME = "calendar.repository";
+
+    private final ObservationRegistry observationRegistry;
+    private final String repositoryName;
+
+    public RepositoryObservationInterceptor(ObservationRegistry observationRegistry, Class<?> repositoryInterface) {
+        this.observationRegistry = observationRegistry;
+        this.repositoryName = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (invocation.getMethod().getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        String methodName = invocation.getMethod().getName();
+        Observation observation = Observation.createNotStarted(OBSERVATION_NAME, observationRegistry)
+                .contextualName(repositoryName + "." + methodName)
+                .lowCardinalityKeyValue("repository", repositoryName)
+                .lowCardinalityKeyValue("method", methodName)
+                .start();
+        try (Observation.Scope ignored = observation.openScope()) {
+            Object result = invocation.proceed();
+            Integer rows = rows(result);
+            if (rows != null) {
+                observation.highCardinalityKeyValue("calendar.rows", String.valueOf(rows));
+            }
+            return result;
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    private static Integer rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,58 @@
+package org.assignment.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Request tracing. HTTP requests and JDBC statements are observed by Spring Boot and
+ * datasource-micrometer; this adds spans for every repository call and for response
+ * serialization, and exports finished spans to the log when {@code calendar.tracing.log-spans}
+ * is set, so traces can be inspected without a collector.
+ * <p>
+ * By default nothing is sampled or logged: JDBC spans carry the SQL text. The {@code tracing}
+ * profile samples every request and logs its spans, for development and load tests.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "calendar.tracing", name = "log-spans", havingValue = "true")
+    public LoggingSpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+    @Bean
+    public ObservedJsonHttpMessageConverter observedJsonHttpMessageConverter(ObjectMapper objectMapper,
+                                                                             ObservationRegistry observationRegistry) {
+        return new ObservedJsonHttpMessageConverter(objectMapper, observationRegistry);
+    }
+
+    /**
+     * Adds a {@link RepositoryObservationInterceptor} to every Spring Data repository proxy.
+     * Static, as bean post-processors are created before regular configuration beans.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryObservationPostProcessor(
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                                    new RepositoryObservationInterceptor(
+                                            observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP),
+                                            repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
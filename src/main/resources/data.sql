@@ -1,21 +1,21 @@
 -- Insert sample employees
-INSERT INTO employee (name) VALUES ('John Doe');
-INSERT INTO employee (name) VALUES ('Jane Smith');
-INSERT INTO employee (name) VALUES ('Bob Johnson');
-INSERT INTO employee (name) VALUES ('Alice Williams');
+INSERT INTO employee (name, tenant_id) VALUES ('John Doe', 'default');
+INSERT INTO employee (name, tenant_id) VALUES ('Jane Smith', 'default');
+INSERT INTO employee (name, tenant_id) VALUES ('Bob Johnson', 'default');
+INSERT INTO employee (name, tenant_id) VALUES ('Alice Williams', 'default');
 
 -- Insert sample meetings
-INSERT INTO meeting (title, start_time, end_time, owner_id)
-VALUES ('Team Meeting', '2023-05-01 10:00:00', '2023-05-01 11:00:00', 1);
+INSERT INTO meeting (title, start_time, end_time, owner_id, tenant_id)
+VALUES ('Team Meeting', '2023-05-01 10:00:00', '2023-05-01 11:00:00', 1, 'default');
 
-INSERT INTO meeting (title, start_time, end_time, owner_id)
-VALUES ('Project Discussion', '2023-05-01 14:00:00', '2023-05-01 15:00:00', 2);
+INSERT INTO meeting (title, start_time, end_time, owner_id, tenant_id)
+VALUES ('Project Discussion', '2023-05-01 14:00:00', '2023-05-01 15:00:00', 2, 'default');
 
-INSERT INTO meeting (title, start_time, end_time, owner_id)
-VALUES ('Client Call', '2023-05-02 11:00:00', '2023-05-02 12:00:00', 3);
+INSERT INTO meeting (title, start_time, end_time, owner_id, tenant_id)
+VALUES ('Client Call', '2023-05-02 11:00:00', '2023-05-02 12:00:00', 3, 'default');
 
-INSERT INTO meeting (title, start_time, end_time, owner_id)
-VALUES ('Sprint Planning', '2023-05-03 09:00:00', '2023-05-03 10:30:00', 1);
+INSERT INTO meeting (title, start_time, end_time, owner_id, tenant_id)
+VALUES ('Sprint Planning', '2023-05-03 09:00:00', '2023-05-03 10:30:00', 1, 'default');
 
 -- Insert participants for meetings
 INSERT INTO meeting_participants (meeting_id, participants_id) VALUES (1, 2);
@@ -26,4 +26,8 @@ INSERT INTO meeting_participants (meeting_id, participants_id) VALUES (3, 2);
 INSERT INTO meeting_participants (meeting_id, participants_id) VALUES (3, 4);
 INSERT INTO meeting_participants (meeting_id, participants_id) VALUES (4, 2);
 INSERT INTO meeting_participants (meeting_id, participants_id) VALUES (4, 3);
-INSERT INTO meeting_participants (meeting_id, participants_id) VALUES (4, 4);
\ No newline at end of file
+INSERT INTO meeting_participants (meeting_id, participants_id) VALUES (4, 4);
+-- Insert sample rooms
+INSERT INTO room (name, capacity, tenant_id) VALUES ('Focus Room', 2, 'default');
+INSERT INTO room (name, capacity, tenant_id) VALUES ('Huddle Room', 4, 'default');
+INSERT INTO room (name, capacity, tenant_id) VALUES ('Board Room', 12, 'default');
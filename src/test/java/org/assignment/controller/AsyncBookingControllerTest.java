@@ -0,0 +1,120 @@
+package org.assignment.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assignment.datamanager.MeetingDTO;
+import org.assignment.exceptions.MeetingConflictException;
+import org.assignment.ratelimit.AdmissionController;
+import org.assignment.ratelimit.CallerRateLimiter;
+import org.assignment.ratelimit.RateLimitProperties;
+import org.assignment.service.AsyncBookingService;
+import org.assignment.service.AsyncBookingService.BookingStatus;
+import org.assignment.service.AsyncBookingService.State;
+import org.assignment.tenant.TenancyProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = AsyncBookingController.class, properties = "calendar.async-booking.enabled=true")
+@Import({AdmissionController.class, CallerRateLimiter.class, RateLimitProperties.class, TenancyProperties.class})
+@DisplayName("Async Booking Controller Tests")
+class AsyncBookingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private AsyncBookingService asyncBookingService;
+
+    private MeetingDTO meetingDTO;
+    private LocalDateTime acceptedAt;
+
+    @BeforeEach
+    void setUp() {
+        acceptedAt = LocalDateTime.now().withNano(0);
+        meetingDTO = new MeetingDTO();
+        meetingDTO.setTitle("Async meeting");
+        meetingDTO.setStartTime(acceptedAt.plusDays(1));
+        meetingDTO.setEndTime(acceptedAt.plusDays(1).plusHours(1));
+        meetingDTO.setParticipantIds(List.of(2L));
+    }
+
+    @Test
+    @DisplayName("Should accept a booking with a provisional ID and a status location")
+    void submitBooking_Accepted() throws Exception {
+        // Arrange
+        when(asyncBookingService.submit(eq(1L), any(MeetingDTO.class)))
+                .thenReturn(new BookingStatus("abc", State.PENDING, null, null, acceptedAt, null));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/calendar/meetings/async")
+                        .param("ownerId", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(meetingDTO)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/calendar/meetings/async/abc"))
+                .andExpect(jsonPath("$.provisionalId").value("abc"))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    @DisplayName("Should return 409 when the booking conflicts")
+    void submitBooking_Conflict() throws Exception {
+        // Arrange
+        when(asyncBookingService.submit(eq(1L), any(MeetingDTO.class)))
+                .thenThrow(new MeetingConflictException("Meeting conflicts with existing meetings of Jane Smith"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/calendar/meetings/async")
+                        .param("ownerId", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(meetingDTO)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Should report the stored meeting once the booking is persisted")
+    void getBookingStatus_Persisted() throws Exception {
+        // Arrange
+        when(asyncBookingService.status("abc")).thenReturn(Optional.of(
+                new BookingStatus("abc", State.PERSISTED, 42L, null, acceptedAt, acceptedAt.plusSeconds(1))));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/calendar/meetings/async/abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PERSISTED"))
+                .andExpect(jsonPath("$.meetingId").value(42));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown provisional ID")
+    void getBookingStatus_Unknown() throws Exception {
+        // Arrange
+        when(asyncBookingService.status("missing")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/calendar/meetings/async/missing"))
+                .andExpect(status().isNotFound());
+    }
+}
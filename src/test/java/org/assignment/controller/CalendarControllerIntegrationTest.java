@@ -1,11 +1,27 @@
 package org.assignment.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assignment.datamanager.BatchMeetingRequestDTO;
+import org.assignment.datamanager.BatchScheduleRequestDTO;
 import org.assignment.datamanager.MeetingDTO;
+import org.assignment.datamanager.MeetingResponseDTO;
+import org.assignment.domainmodel.ArchivedMeeting;
 import org.assignment.domainmodel.Employee;
 import org.assignment.domainmodel.Meeting;
+import org.assignment.exceptions.MeetingConflictException;
+import org.assignment.ratelimit.AdmissionController;
+import org.assignment.ratelimit.CallerRateLimiter;
+import org.assignment.ratelimit.RateLimitProperties;
 import org.assignment.repository.EmployeeRepository;
+import org.assignment.repository.RoomRepository;
+import org.assignment.service.BatchSchedulingService;
 import org.assignment.service.CalendarService;
+import org.assignment.service.FreeSlotCache;
+import org.assignment.service.FreeSlotCacheProperties;
+import org.assignment.service.IdempotencyService;
+import org.assignment.service.MeetingArchiveService;
+import org.assignment.service.ScheduleVersions;
+import org.assignment.tenant.TenancyProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -13,10 +29,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -24,16 +43,26 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(CalendarController.class)
+@WebMvcTest(controllers = CalendarController.class, properties = "calendar.tenancy.tenants=acme,globex")
+@Import({AdmissionController.class, CallerRateLimiter.class, RateLimitProperties.class, TenancyProperties.class,
+        FreeSlotCache.class, FreeSlotCacheProperties.class, ScheduleVersions.class})
 @DisplayName("Calendar Controller Integration Tests")
 class CalendarControllerIntegrationTest {
 
@@ -49,6 +78,21 @@ class CalendarControllerIntegrationTest {
     @MockBean
     private EmployeeRepository employeeRepository;
 
+    @MockBean
+    private RoomRepository roomRepository;
+
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @MockBean
+    private MeetingArchiveService meetingArchiveService;
+
+    @MockBean
+    private BatchSchedulingService batchSchedulingService;
+
+    @Autowired
+    private ScheduleVersions scheduleVersions;
+
     private Employee owner;
     private Employee participant1;
     private Employee participant2;
@@ -58,6 +102,9 @@ class CalendarControllerIntegrationTest {
 
     @BeforeEach
     void setUp() {
+        // The cache lives as long as the shared application context.
+        scheduleVersions.bumpAll();
+
         baseTime = LocalDateTime.now()
                 .withHour(10)
                 .withMinute(0)
@@ -96,6 +143,46 @@ class CalendarControllerIntegrationTest {
                     .andExpect(jsonPath("$.owner.name").value(owner.getName()));
         }
 
+        @Test
+        @DisplayName("Should return 409 when the room is already booked")
+        void bookMeeting_RoomAlreadyBooked() throws Exception {
+            // Arrange
+            when(employeeRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+            when(employeeRepository.findAllById(any())).thenReturn(Arrays.asList(participant1, participant2));
+            when(calendarService.bookMeeting(eq(owner.getId()), any(Meeting.class)))
+                    .thenThrow(new MeetingConflictException("Room Huddle Room is already booked"));
+
+            // Act & Assert
+            mockMvc.perform(post("/api/calendar/meetings")
+                            .param("ownerId", owner.getId().toString())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(meetingDTO)))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.message").value("Room Huddle Room is already booked"));
+        }
+
+        @Test
+        @DisplayName("Should return the original response when a booking is replayed")
+        void bookMeeting_IdempotentReplay() throws Exception {
+            // Arrange
+            MeetingResponseDTO original = new MeetingResponseDTO();
+            original.setId(42L);
+            original.setTitle(meeting.getTitle());
+            when(idempotencyService.execute(eq("retry-1"), any(), any()))
+                    .thenReturn(new IdempotencyService.Result(original, true));
+
+            // Act & Assert
+            mockMvc.perform(post("/api/calendar/meetings")
+                            .param("ownerId", owner.getId().toString())
+                            .header("Idempotency-Key", "retry-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(meetingDTO)))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string("Idempotent-Replayed", "true"))
+                    .andExpect(jsonPath("$.id").value(42));
+            verify(calendarService, never()).bookMeeting(anyLong(), any());
+        }
+
         @Test
         @DisplayName("Should return 400 when owner not found")
         void bookMeeting_OwnerNotFound() throws Exception {
@@ -126,6 +213,72 @@ class CalendarControllerIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("Batch Scheduling Endpoint Tests")
+    class BatchSchedulingTests {
+
+        @Test
+        @DisplayName("Should book the planned meetings and report the ones that did not fit")
+        void scheduleBatch_Success() throws Exception {
+            // Arrange
+            BatchScheduleRequestDTO batch = new BatchScheduleRequestDTO();
+            batch.setMeetings(List.of(createBatchRequest("1:1"), createBatchRequest("Team sync")));
+            when(batchSchedulingService.schedule(any(), eq(false))).thenReturn(new BatchSchedulingService.BatchResult(
+                    List.of(meeting),
+                    List.of(new BatchSchedulingService.Unscheduled(1, "Team sync", "No common free slot in the requested window"))));
+
+            // Act & Assert
+            mockMvc.perform(post("/api/calendar/meetings/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(batch)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.scheduled.length()").value(1))
+                    .andExpect(jsonPath("$.scheduled[0].id").value(meeting.getId()))
+                    .andExpect(jsonPath("$.unscheduled[0].requestIndex").value(1))
+                    .andExpect(jsonPath("$.unscheduled[0].title").value("Team sync"));
+        }
+
+        @Test
+        @DisplayName("Should admit a batch of 2,000 one-week requests under the default limits")
+        void scheduleBatch_LargeBatchAdmitted() throws Exception {
+            // Arrange
+            List<BatchMeetingRequestDTO> requests = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                BatchMeetingRequestDTO request = createBatchRequest("1:1 #" + i);
+                request.setWindowEnd(baseTime.plusDays(7));
+                requests.add(request);
+            }
+            BatchScheduleRequestDTO batch = new BatchScheduleRequestDTO();
+            batch.setMeetings(requests);
+            when(batchSchedulingService.schedule(any(), eq(false)))
+                    .thenReturn(new BatchSchedulingService.BatchResult(List.of(meeting), List.of()));
+
+            // Act & Assert
+            mockMvc.perform(post("/api/calendar/meetings/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(batch)))
+                    .andExpect(status().isCreated());
+            verify(batchSchedulingService, times(1)).schedule(any(), eq(false));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for a request without a scheduling window")
+        void scheduleBatch_InvalidData() throws Exception {
+            // Arrange
+            BatchMeetingRequestDTO request = createBatchRequest("1:1");
+            request.setWindowEnd(null);
+            BatchScheduleRequestDTO batch = new BatchScheduleRequestDTO();
+            batch.setMeetings(List.of(request));
+
+            // Act & Assert
+            mockMvc.perform(post("/api/calendar/meetings/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(batch)))
+                    .andExpect(status().isBadRequest());
+            verify(batchSchedulingService, never()).schedule(any(), anyBoolean());
+        }
+    }
+
     @Nested
     @DisplayName("Find Free Slots Endpoint Tests")
     class FindFreeSlotsTests {
@@ -151,6 +304,66 @@ class CalendarControllerIntegrationTest {
                     .andExpect(jsonPath("$.length()").value(2));
         }
 
+        @Test
+        @DisplayName("Should answer repeated searches from the cache and unchanged ones with 304")
+        void findFreeSlots_CachedAndNotModified() throws Exception {
+            // Arrange
+            when(calendarService.findFreeSlots(eq(1L), eq(2L), any()))
+                    .thenReturn(List.of(createFreeSlot(baseTime)));
+
+            // Act
+            String etag = mockMvc.perform(get("/api/calendar/free-slots")
+                            .param("employee1Id", "1")
+                            .param("employee2Id", "2")
+                            .param("durationMinutes", "30"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Cache-Control", "no-cache"))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            // Assert
+            mockMvc.perform(get("/api/calendar/free-slots")
+                            .param("employee1Id", "1")
+                            .param("employee2Id", "2")
+                            .param("durationMinutes", "30"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", etag))
+                    .andExpect(jsonPath("$.length()").value(1));
+            mockMvc.perform(get("/api/calendar/free-slots")
+                            .header("If-None-Match", etag)
+                            .param("employee1Id", "1")
+                            .param("employee2Id", "2")
+                            .param("durationMinutes", "30"))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", etag));
+            verify(calendarService, times(1)).findFreeSlots(eq(1L), eq(2L), any());
+        }
+
+        @Test
+        @DisplayName("Should recompute free slots once an employee's schedule changes")
+        void findFreeSlots_InvalidatedByBooking() throws Exception {
+            // Arrange
+            when(calendarService.findFreeSlots(eq(1L), eq(2L), any()))
+                    .thenReturn(List.of(createFreeSlot(baseTime)));
+            String etag = mockMvc.perform(get("/api/calendar/free-slots")
+                            .param("employee1Id", "1")
+                            .param("employee2Id", "2")
+                            .param("durationMinutes", "30"))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            // Act
+            scheduleVersions.bumpAfterCommit(List.of(2L));
+
+            // Assert
+            mockMvc.perform(get("/api/calendar/free-slots")
+                            .header("If-None-Match", etag)
+                            .param("employee1Id", "1")
+                            .param("employee2Id", "2")
+                            .param("durationMinutes", "30"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", not(etag)));
+            verify(calendarService, times(2)).findFreeSlots(eq(1L), eq(2L), any());
+        }
+
         @Test
         @DisplayName("Should return 400 for negative duration")
         void findFreeSlots_NegativeDuration() throws Exception {
@@ -160,6 +373,210 @@ class CalendarControllerIntegrationTest {
                             .param("durationMinutes", "-30"))
                     .andExpect(status().isBadRequest());
         }
+
+        @Test
+        @DisplayName("Should find free slots with a room, defaulting capacity to the participant count")
+        void findFreeSlotsWithRoom_Success() throws Exception {
+            // Arrange
+            Map<String, Object> slot = createFreeSlot(baseTime);
+            slot.put("roomId", 2L);
+            slot.put("roomName", "Huddle Room");
+            slot.put("roomCapacity", 4);
+            when(calendarService.findFreeSlotsWithRoom(eq(List.of(1L, 2L, 3L)), any(), eq(3)))
+                    .thenReturn(List.of(slot));
+
+            // Act & Assert
+            mockMvc.perform(get("/api/calendar/free-slots/with-room")
+                            .param("participantIds", "1", "2", "3")
+                            .param("durationMinutes", "30"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].roomName").value("Huddle Room"));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for a non-positive minimum capacity")
+        void findFreeSlotsWithRoom_InvalidCapacity() throws Exception {
+            mockMvc.perform(get("/api/calendar/free-slots/with-room")
+                            .param("participantIds", "1", "2")
+                            .param("durationMinutes", "30")
+                            .param("minCapacity", "0"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Meeting History Endpoint Tests")
+    class MeetingHistoryTests {
+
+        @Test
+        @DisplayName("Should return archived meetings with resolved employees")
+        void findHistoricalMeetings_Success() throws Exception {
+            // Arrange
+            ArchivedMeeting archived = new ArchivedMeeting();
+            archived.setId(10L);
+            archived.setTitle("Old Meeting");
+            archived.setStartTime(baseTime.minusDays(60));
+            archived.setEndTime(baseTime.minusDays(60).plusHours(1));
+            archived.setOwnerId(owner.getId());
+            archived.setParticipantIds(List.of(participant1.getId()));
+            when(meetingArchiveService.findHistoricalMeetings(eq(owner.getId()), any(), any()))
+                    .thenReturn(List.of(archived));
+            when(employeeRepository.findAllById(any())).thenReturn(Arrays.asList(owner, participant1));
+
+            // Act & Assert
+            mockMvc.perform(get("/api/calendar/meetings/history")
+                            .param("employeeId", owner.getId().toString())
+                            .param("from", baseTime.minusDays(90).toString())
+                            .param("to", baseTime.minusDays(30).toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].id").value(10))
+                    .andExpect(jsonPath("$[0].owner.name").value(owner.getName()))
+                    .andExpect(jsonPath("$[0].participants[0].id").value(participant1.getId()));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the range is reversed")
+        void findHistoricalMeetings_InvalidRange() throws Exception {
+            mockMvc.perform(get("/api/calendar/meetings/history")
+                            .param("employeeId", "1")
+                            .param("from", baseTime.toString())
+                            .param("to", baseTime.minusDays(1).toString()))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Rate Limiting Tests")
+    class RateLimitingTests {
+
+        @Test
+        @DisplayName("Should return 429 once a caller exhausts its burst")
+        void rateLimit_BurstExhausted() throws Exception {
+            // Arrange
+            when(calendarService.findFreeSlots(anyLong(), anyLong(), any()))
+                    .thenReturn(Collections.emptyList());
+
+            // Act
+            int lastStatus = 200;
+            for (int i = 0; i < 100 && lastStatus == 200; i++) {
+                lastStatus = mockMvc.perform(get("/api/calendar/free-slots")
+                                .with(remoteAddress("10.0.0.1"))
+                                .param("employee1Id", "1")
+                                .param("employee2Id", "2")
+                                .param("durationMinutes", "30"))
+                        .andReturn().getResponse().getStatus();
+            }
+
+            // Assert
+            assertThat(lastStatus).isEqualTo(429);
+
+            // Other callers keep their own budget
+            mockMvc.perform(get("/api/calendar/free-slots")
+                            .with(remoteAddress("10.0.0.2"))
+                            .param("employee1Id", "1")
+                            .param("employee2Id", "2")
+                            .param("durationMinutes", "30"))
+                    .andExpect(status().isOk());
+        }
+
+        @Test
+        @DisplayName("Should not let a caller escape its limit by rotating the caller header")
+        void rateLimit_CallerHeaderNotTrusted() throws Exception {
+            // Arrange
+            when(calendarService.findFreeSlots(anyLong(), anyLong(), any()))
+                    .thenReturn(Collections.emptyList());
+
+            // Act
+            int lastStatus = 200;
+            for (int i = 0; i < 100 && lastStatus == 200; i++) {
+                lastStatus = mockMvc.perform(get("/api/calendar/free-slots")
+                                .with(remoteAddress("10.0.0.3"))
+                                .header("X-Caller-Id", "rotating-client-" + i)
+                                .param("employee1Id", "1")
+                                .param("employee2Id", "2")
+                                .param("durationMinutes", "30"))
+                        .andReturn().getResponse().getStatus();
+            }
+
+            // Assert
+            assertThat(lastStatus).isEqualTo(429);
+        }
+
+        @Test
+        @DisplayName("Should give the same caller a separate budget in every tenant")
+        void rateLimit_SeparateBudgetPerTenant() throws Exception {
+            // Arrange
+            when(calendarService.findFreeSlots(anyLong(), anyLong(), any()))
+                    .thenReturn(Collections.emptyList());
+
+            // Act
+            int lastStatus = 200;
+            for (int i = 0; i < 100 && lastStatus == 200; i++) {
+                lastStatus = mockMvc.perform(get("/api/calendar/free-slots")
+                                .header("X-Tenant-Id", "acme")
+                                .with(remoteAddress("10.0.0.4"))
+                                .param("employee1Id", "1")
+                                .param("employee2Id", "2")
+                                .param("durationMinutes", "30"))
+                        .andReturn().getResponse().getStatus();
+            }
+
+            // Assert
+            assertThat(lastStatus).isEqualTo(429);
+            mockMvc.perform(get("/api/calendar/free-slots")
+                            .header("X-Tenant-Id", "globex")
+                            .with(remoteAddress("10.0.0.4"))
+                            .param("employee1Id", "1")
+                            .param("employee2Id", "2")
+                            .param("durationMinutes", "30"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().stringValues("Vary", hasItem("X-Tenant-Id")));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for a malformed tenant ID")
+        void tenant_MalformedId() throws Exception {
+            mockMvc.perform(get("/api/calendar/free-slots")
+                            .header("X-Tenant-Id", "../other")
+                            .param("employee1Id", "1")
+                            .param("employee2Id", "2")
+                            .param("durationMinutes", "30"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Unknown tenant: ../other"));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for a well-formed tenant ID that is not configured")
+        void tenant_NotConfigured() throws Exception {
+            mockMvc.perform(get("/api/calendar/free-slots")
+                            .header("X-Tenant-Id", "initech")
+                            .param("employee1Id", "1")
+                            .param("employee2Id", "2")
+                            .param("durationMinutes", "30"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Unknown tenant: initech"));
+            verify(calendarService, never()).findFreeSlots(anyLong(), anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("Should return 400 when a conflict check is too expensive to admit")
+        void admission_RequestTooExpensive() throws Exception {
+            // Arrange
+            List<Long> participantIds = new ArrayList<>();
+            for (long id = 1; id <= 6_000; id++) {
+                participantIds.add(id);
+            }
+            meetingDTO.setParticipantIds(participantIds);
+
+            // Act & Assert
+            mockMvc.perform(post("/api/calendar/conflicts")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(meetingDTO)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Request is too expensive, please narrow the search"));
+        }
     }
 
     @Nested
@@ -200,6 +617,13 @@ class CalendarControllerIntegrationTest {
     }
 
     // Helper methods
+    private static RequestPostProcessor remoteAddress(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+
     private Employee createEmployee(Long id, String name) {
         Employee employee = new Employee();
         employee.setId(id);
@@ -228,6 +652,17 @@ class CalendarControllerIntegrationTest {
         return dto;
     }
 
+    private BatchMeetingRequestDTO createBatchRequest(String title) {
+        BatchMeetingRequestDTO request = new BatchMeetingRequestDTO();
+        request.setTitle(title);
+        request.setOwnerId(owner.getId());
+        request.setParticipantIds(List.of(participant1.getId()));
+        request.setDurationMinutes(30);
+        request.setWindowStart(baseTime);
+        request.setWindowEnd(baseTime.plusDays(5));
+        return request;
+    }
+
     private Map<String, Object> createFreeSlot(LocalDateTime time) {
         Map<String, Object> slot = new HashMap<>();
         slot.put("date", time.toLocalDate().toString());
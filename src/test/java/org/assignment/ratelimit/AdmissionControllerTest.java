@@ -0,0 +1,104 @@
+package org.assignment.ratelimit;
+
+import org.assignment.exceptions.AdmissionRejectedException;
+import org.assignment.tenant.TenantContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("AdmissionController Tests")
+class AdmissionControllerTest {
+
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setMaxConcurrentCost(100);
+        properties.setMaxRequestCost(60);
+        properties.setQueueTimeoutMillis(10);
+    }
+
+    @Test
+    @DisplayName("Should estimate cost as slots scanned times participants")
+    void estimateCost() {
+        assertThat(AdmissionController.estimateCost(Duration.ofHours(2), Duration.ofMinutes(30), 3))
+                .isEqualTo(12);
+        assertThat(AdmissionController.estimateCost(Duration.ofMinutes(10), Duration.ofMinutes(30), 0))
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should estimate a conflict check as one overlap query per participant")
+    void estimateConflictCost() {
+        assertThat(AdmissionController.estimateConflictCost(5)).isEqualTo(5);
+        assertThat(AdmissionController.estimateConflictCost(0)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject requests once the shared budget is used up and admit again after release")
+    void admit_BudgetExhausted() {
+        AdmissionController admissionController = new AdmissionController(properties);
+
+        AdmissionController.Permit first = admissionController.admit("test", 60);
+        assertThrows(AdmissionRejectedException.class,
+                () -> admissionController.admit("test", 60));
+
+        first.close();
+        first.close();
+        assertThat(admissionController.availableBudget()).isEqualTo(100);
+        admissionController.admit("test", 60).close();
+    }
+
+    @Test
+    @DisplayName("Should refuse a single request above the per-request limit")
+    void admit_RequestTooExpensive() {
+        AdmissionController admissionController = new AdmissionController(properties);
+
+        assertThrows(IllegalArgumentException.class, () -> admissionController.admit("test", 61));
+        assertThat(admissionController.availableBudget()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should reserve a bulk operation's full cost from the bulk budget and cap its interactive share")
+    void admitBulk_ReservesBulkBudget() {
+        properties.setBulkMaxConcurrentCost(1_000);
+        AdmissionController admissionController = new AdmissionController(properties);
+
+        AdmissionController.Permit permit = admissionController.admitBulk("batch", 800);
+        assertThat(admissionController.availableBulkBudget()).isEqualTo(200);
+        assertThat(admissionController.availableBudget()).isEqualTo(40);
+        assertThrows(AdmissionRejectedException.class,
+                () -> admissionController.admitBulk("batch", 300));
+        assertThrows(IllegalArgumentException.class,
+                () -> admissionController.admitBulk("batch", 1_001));
+        admissionController.admit("test", 40).close();
+
+        permit.close();
+        permit.close();
+        assertThat(admissionController.availableBulkBudget()).isEqualTo(1_000);
+        assertThat(admissionController.availableBudget()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should keep one tenant from using up the shared budget")
+    void admit_TenantBudgetExhausted() {
+        properties.setTenantMaxConcurrentCost(50);
+        AdmissionController admissionController = new AdmissionController(properties);
+
+        AdmissionController.Permit permit = TenantContext.callAs("acme", () -> admissionController.admit("test", 40));
+        assertThrows(AdmissionRejectedException.class,
+                () -> TenantContext.runAs("acme", () -> admissionController.admit("test", 20)));
+        assertThrows(IllegalArgumentException.class,
+                () -> TenantContext.runAs("acme", () -> admissionController.admit("test", 51)));
+        TenantContext.callAs("globex", () -> admissionController.admit("test", 50)).close();
+
+        permit.close();
+        assertThat(admissionController.availableBudget()).isEqualTo(100);
+    }
+}
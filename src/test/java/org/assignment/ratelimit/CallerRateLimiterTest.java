@@ -0,0 +1,88 @@
+package org.assignment.ratelimit;
+
+import org.assignment.tenant.TenantContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CallerRateLimiter Tests")
+class CallerRateLimiterTest {
+
+    private RateLimitProperties properties;
+    private AtomicLong clock;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setBurstCapacity(3);
+        properties.setRefillPerSecond(1);
+        clock = new AtomicLong();
+    }
+
+    @Test
+    @DisplayName("Should allow a burst and then reject until tokens refill")
+    void tryAcquire_BurstThenRefill() {
+        CallerRateLimiter limiter = new CallerRateLimiter(properties, clock::get);
+
+        assertThat(limiter.tryAcquire("caller")).isTrue();
+        assertThat(limiter.tryAcquire("caller")).isTrue();
+        assertThat(limiter.tryAcquire("caller")).isTrue();
+        assertThat(limiter.tryAcquire("caller")).isFalse();
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(limiter.tryAcquire("caller")).isTrue();
+        assertThat(limiter.tryAcquire("caller")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should make callers beyond the tracked caller limit share one overflow bucket")
+    void tryAcquire_OverflowCallersShareBucket() {
+        properties.setMaxTrackedCallers(2);
+        CallerRateLimiter limiter = new CallerRateLimiter(properties, clock::get);
+        limiter.tryAcquire("first");
+        limiter.tryAcquire("second");
+
+        assertThat(limiter.tryAcquire("third")).isTrue();
+        assertThat(limiter.tryAcquire("fourth")).isTrue();
+        assertThat(limiter.tryAcquire("fifth")).isTrue();
+        assertThat(limiter.tryAcquire("sixth")).isFalse();
+        assertThat(limiter.trackedCallers()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("first")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should drop idle callers when swept")
+    void sweepIdleCallers_DropsRefilledBuckets() {
+        CallerRateLimiter limiter = new CallerRateLimiter(properties, clock::get);
+        limiter.tryAcquire("first");
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        limiter.tryAcquire("second");
+
+        limiter.sweepIdleCallers();
+
+        assertThat(limiter.trackedCallers()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should limit a tenant's callers together without affecting other tenants")
+    void tryAcquire_TenantBucketSharedByCallers() {
+        RateLimitProperties.TenantLimits limits = new RateLimitProperties.TenantLimits();
+        limits.setBurstCapacity(4);
+        properties.getTenants().put("acme", limits);
+        CallerRateLimiter limiter = new CallerRateLimiter(properties, clock::get);
+
+        TenantContext.runAs("acme", () -> {
+            assertThat(limiter.tryAcquire("first")).isTrue();
+            assertThat(limiter.tryAcquire("first")).isTrue();
+            assertThat(limiter.tryAcquire("first")).isTrue();
+            assertThat(limiter.tryAcquire("second")).isTrue();
+            assertThat(limiter.tryAcquire("second")).isFalse();
+        });
+        TenantContext.runAs("globex", () -> assertThat(limiter.tryAcquire("first")).isTrue());
+    }
+}
@@ -0,0 +1,54 @@
+package org.assignment.replica;
+
+import org.assignment.ratelimit.CallerResolver;
+import org.assignment.ratelimit.RateLimitProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CallerContextInterceptor Tests")
+class CallerContextInterceptorTest {
+
+    private final RateLimitProperties properties = new RateLimitProperties();
+    private final CallerContextInterceptor interceptor = new CallerContextInterceptor(new CallerResolver(properties));
+
+    @AfterEach
+    void tearDown() {
+        CallerContext.clear();
+    }
+
+    @Test
+    @DisplayName("Should ignore the caller header unless it is trusted")
+    void preHandle_CallerHeaderNotTrusted() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.7");
+        request.addHeader("X-Caller-Id", "someone-else");
+
+        // Act
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+
+        // Assert
+        assertThat(CallerContext.current()).isEqualTo("10.0.0.7");
+    }
+
+    @Test
+    @DisplayName("Should use the caller header when a gateway sets it")
+    void preHandle_CallerHeaderTrusted() {
+        // Arrange
+        properties.setTrustCallerHeader(true);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.7");
+        request.addHeader("X-Caller-Id", "billing-service");
+
+        // Act
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+
+        // Assert
+        assertThat(CallerContext.current()).isEqualTo("billing-service");
+    }
+}
@@ -0,0 +1,167 @@
+package org.assignment.replica;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ReplicaRoutingDataSource Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicationTracker tracker;
+    private ReplicationStandIn standIn;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writes;
+    private TransactionTemplate reads;
+
+    @BeforeEach
+    void setUp() {
+        primary = new DriverManagerDataSource("jdbc:h2:mem:primary-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        replica = new DriverManagerDataSource("jdbc:h2:mem:replica-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        route(Duration.ofMinutes(5));
+        jdbcTemplate.execute("CREATE TABLE meeting (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "title VARCHAR(255))");
+        standIn.replicate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        CallerContext.clear();
+        new JdbcTemplate(primary).execute("SHUTDOWN");
+        new JdbcTemplate(replica).execute("SHUTDOWN");
+    }
+
+    @Test
+    @DisplayName("Should send writes to the primary and read-only transactions to the replica")
+    void routesByTransactionType() {
+        // Act
+        book("Standup");
+
+        // Assert
+        assertThat(count(primary)).isEqualTo(1);
+        assertThat(count(replica)).isZero();
+        assertThat(readDatabase()).isEqualTo(database(replica));
+        assertThat(writeDatabase()).isEqualTo(database(primary));
+    }
+
+    @Test
+    @DisplayName("Should copy committed writes to the replica")
+    void replicate_CopiesRows() {
+        // Arrange
+        book("Standup");
+        book("Retro");
+
+        // Act
+        standIn.replicate();
+
+        // Assert
+        assertThat(count(replica)).isEqualTo(2);
+        assertThat(tracker.appliedSequence()).isEqualTo(tracker.writeSequence());
+        assertThat(readCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should read a caller's own writes from the primary until the replica has them")
+    void readYourWrites() {
+        // Arrange
+        CallerContext.set("alice");
+        book("Standup");
+
+        // Act & Assert
+        assertThat(readCount()).isEqualTo(1);
+
+        CallerContext.set("bob");
+        assertThat(readCount()).isZero();
+
+        standIn.replicate();
+        CallerContext.set("alice");
+        assertThat(readDatabase()).isEqualTo(database(replica));
+        assertThat(readCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not pin a caller to the primary after a rolled-back write")
+    void rolledBackWrite_NotTracked() {
+        // Arrange
+        CallerContext.set("alice");
+
+        // Act
+        writes.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO meeting (title) VALUES (?)", "Cancelled");
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertThat(tracker.writeSequence()).isEqualTo(tracker.appliedSequence());
+        assertThat(readDatabase()).isEqualTo(database(replica));
+    }
+
+    @Test
+    @DisplayName("Should read from the primary when the replica lags more than the allowed staleness")
+    void boundedStaleness() {
+        // Arrange
+        route(Duration.ZERO);
+        standIn.replicate();
+        assertThat(readDatabase()).isEqualTo(database(replica));
+
+        // Act
+        CallerContext.set("bob");
+        book("Standup");
+        CallerContext.set("alice");
+
+        // Assert
+        assertThat(readDatabase()).isEqualTo(database(primary));
+        standIn.replicate();
+        assertThat(readDatabase()).isEqualTo(database(replica));
+    }
+
+    private void route(Duration maxLag) {
+        tracker = new ReplicationTracker(maxLag, Clock.systemDefaultZone());
+        standIn = new ReplicationStandIn(primary, replica, tracker, Clock.systemDefaultZone());
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, tracker));
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        writes = new TransactionTemplate(transactionManager);
+        reads = new TransactionTemplate(transactionManager);
+        reads.setReadOnly(true);
+    }
+
+    private void book(String title) {
+        writes.executeWithoutResult(status -> jdbcTemplate.update("INSERT INTO meeting (title) VALUES (?)", title));
+    }
+
+    private int readCount() {
+        Integer count = reads.execute(status -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM meeting", Integer.class));
+        return count;
+    }
+
+    private String readDatabase() {
+        return reads.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+    }
+
+    private String writeDatabase() {
+        return writes.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+    }
+
+    private static int count(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM meeting", Integer.class);
+    }
+
+    private static String database(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT DATABASE()", String.class);
+    }
+}
@@ -0,0 +1,137 @@
+package org.assignment.schedule;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("OffHeapScheduleStore Tests")
+class OffHeapScheduleStoreTest {
+
+    private OffHeapScheduleStore store;
+    private LocalDateTime baseTime;
+
+    @BeforeEach
+    void setUp() {
+        store = new OffHeapScheduleStore(1, 4);
+        baseTime = LocalDateTime.of(2024, 3, 4, 9, 0);
+    }
+
+    @Test
+    @DisplayName("Should merge overlapping and touching meetings and keep the rest in order")
+    void add_MergesIntervals() {
+        // Act
+        store.add(1L, baseTime.plusHours(4), baseTime.plusHours(5));
+        store.add(1L, baseTime, baseTime.plusHours(1));
+        store.add(1L, baseTime.plusMinutes(30), baseTime.plusHours(2));
+        store.add(1L, baseTime.plusHours(2), baseTime.plusHours(3));
+        store.add(1L, baseTime, baseTime.plusHours(1));
+
+        // Assert
+        assertThat(busy(1L, baseTime, baseTime.plusDays(1))).containsExactly(
+                baseTime, baseTime.plusHours(3),
+                baseTime.plusHours(4), baseTime.plusHours(5));
+        assertThat(store.storedIntervals()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should treat busy intervals as half-open")
+    void isFree_HalfOpenIntervals() {
+        // Arrange
+        store.add(1L, baseTime.plusHours(1), baseTime.plusHours(2));
+
+        // Act & Assert
+        assertThat(store.isFree(1L, baseTime, baseTime.plusHours(1))).isTrue();
+        assertThat(store.isFree(1L, baseTime.plusHours(2), baseTime.plusHours(3))).isTrue();
+        assertThat(store.isFree(1L, baseTime.plusMinutes(90), baseTime.plusHours(3))).isFalse();
+        assertThat(store.isFree(2L, baseTime, baseTime.plusHours(3))).isTrue();
+        assertThat(store.isFree(1_000_000L, baseTime, baseTime.plusHours(3))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should round starts down and ends up to whole minutes")
+    void add_RoundsToMinutes() {
+        // Act
+        store.add(1L, baseTime.plusSeconds(30), baseTime.plusMinutes(10).plusSeconds(1));
+
+        // Assert
+        assertThat(busy(1L, baseTime, baseTime.plusHours(1)))
+                .containsExactly(baseTime, baseTime.plusMinutes(11));
+    }
+
+    @Test
+    @DisplayName("Should keep every employee's intervals through region moves and compaction")
+    void add_ManyEmployees_MatchesReference() {
+        // Arrange
+        Random random = new Random(42);
+        int employees = 200;
+        List<List<LocalDateTime>> expected = new ArrayList<>();
+        for (int id = 0; id < employees; id++) {
+            expected.add(new ArrayList<>());
+        }
+
+        // Act
+        for (int day = 0; day < 20; day++) {
+            for (int id = 0; id < employees; id++) {
+                if (random.nextInt(3) == 0) {
+                    continue;
+                }
+                LocalDateTime start = baseTime.plusDays(day).plusMinutes(30L * random.nextInt(16));
+                store.add(id, start, start.plusMinutes(30));
+                expected.get(id).add(start);
+            }
+        }
+
+        // Assert
+        for (int id = 0; id < employees; id++) {
+            for (LocalDateTime start : expected.get(id)) {
+                assertThat(store.isFree(id, start, start.plusMinutes(30))).isFalse();
+            }
+            List<LocalDateTime> busy = busy(id, baseTime, baseTime.plusDays(20));
+            for (int i = 0; i < busy.size(); i += 2) {
+                LocalDateTime start = busy.get(i);
+                assertThat(expected.get(id).stream().anyMatch(slot -> slot.equals(start))).isTrue();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop intervals that ended before the cutoff")
+    void pruneBefore_DropsPastIntervals() {
+        // Arrange
+        store.add(1L, baseTime, baseTime.plusHours(1));
+        store.add(1L, baseTime.plusDays(1), baseTime.plusDays(1).plusHours(1));
+        store.add(2L, baseTime, baseTime.plusHours(1));
+
+        // Act
+        long dropped = store.pruneBefore(baseTime.plusHours(1));
+
+        // Assert
+        assertThat(dropped).isEqualTo(2);
+        assertThat(store.storedIntervals()).isEqualTo(1);
+        assertThat(busy(1L, baseTime, baseTime.plusDays(2)))
+                .containsExactly(baseTime.plusDays(1), baseTime.plusDays(1).plusHours(1));
+        assertThat(store.isFree(2L, baseTime, baseTime.plusHours(1))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject negative employee IDs")
+    void add_NegativeId_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> store.add(-1L, baseTime, baseTime.plusHours(1)));
+    }
+
+    private List<LocalDateTime> busy(long employeeId, LocalDateTime start, LocalDateTime end) {
+        List<LocalDateTime> times = new ArrayList<>();
+        for (int minute : store.busyMinutes(employeeId, start, end)) {
+            times.add(OffHeapScheduleStore.toDateTime(minute));
+        }
+        return times;
+    }
+}
@@ -0,0 +1,78 @@
+package org.assignment.seed;
+
+import org.assignment.seed.CalendarDataGenerator.SeedMeeting;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CalendarDataGenerator Tests")
+class CalendarDataGeneratorTest {
+
+    private SeedProperties properties;
+    private LocalDate firstDay;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SeedProperties();
+        properties.setEmployees(50);
+        properties.setMeetings(2_000);
+        properties.setDays(14);
+        firstDay = LocalDate.of(2024, 1, 1);
+    }
+
+    @Test
+    @DisplayName("Should generate exactly the configured number of employees and meetings")
+    void generate_ConfiguredCounts() {
+        CalendarDataGenerator generator = new CalendarDataGenerator(properties, firstDay);
+
+        assertThat(generator.generateEmployees()).hasSize(50);
+        assertThat(generator.generateMeetings()).hasSize(2_000);
+    }
+
+    @Test
+    @DisplayName("Should only place meetings on weekdays within business hours")
+    void generateMeetings_WithinWorkingHours() {
+        List<SeedMeeting> meetings = new CalendarDataGenerator(properties, firstDay).generateMeetings();
+
+        assertThat(meetings).allSatisfy(meeting -> {
+            assertThat(meeting.startTime().getDayOfWeek()).isNotIn(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+            assertThat(meeting.startTime().toLocalTime()).isAfterOrEqualTo(LocalTime.of(9, 0));
+            assertThat(meeting.endTime().toLocalTime()).isBeforeOrEqualTo(LocalTime.of(17, 0));
+            assertThat(meeting.endTime()).isAfter(meeting.startTime());
+            assertThat(meeting.startTime().toLocalDate()).isBetween(firstDay, firstDay.plusDays(13));
+        });
+    }
+
+    @Test
+    @DisplayName("Should never invite the owner or unknown employees as participants")
+    void generateMeetings_ValidParticipants() {
+        List<SeedMeeting> meetings = new CalendarDataGenerator(properties, firstDay).generateMeetings();
+
+        assertThat(meetings).allSatisfy(meeting -> {
+            assertThat(meeting.owner()).isBetween(0, 49);
+            assertThat(Arrays.stream(meeting.participants()).boxed().toList())
+                    .doesNotContain(meeting.owner())
+                    .allSatisfy(participant -> assertThat(participant).isBetween(0, 49))
+                    .doesNotHaveDuplicates();
+        });
+    }
+
+    @Test
+    @DisplayName("Should produce recurring and large meetings")
+    void generateMeetings_RealisticMix() {
+        properties.setLargeMeetingSize(20);
+        List<SeedMeeting> meetings = new CalendarDataGenerator(properties, firstDay).generateMeetings();
+
+        assertThat(meetings).anyMatch(meeting -> meeting.title().equals("Team stand-up")
+                || meeting.title().equals("Weekly team sync") || meeting.title().equals("1:1"));
+        assertThat(meetings).anyMatch(meeting -> meeting.participants().length >= 10);
+    }
+}
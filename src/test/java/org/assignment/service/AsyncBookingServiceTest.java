@@ -0,0 +1,231 @@
+package org.assignment.service;
+
+import org.assignment.datamanager.MeetingDTO;
+import org.assignment.domainmodel.Employee;
+import org.assignment.domainmodel.Meeting;
+import org.assignment.exceptions.AdmissionRejectedException;
+import org.assignment.exceptions.MeetingConflictException;
+import org.assignment.repository.EmployeeBusyTime;
+import org.assignment.repository.EmployeeRepository;
+import org.assignment.repository.MeetingRepository;
+import org.assignment.repository.RoomRepository;
+import org.assignment.service.AsyncBookingService.BookingStatus;
+import org.assignment.service.AsyncBookingService.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("AsyncBookingService Tests")
+class AsyncBookingServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private MeetingRepository meetingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AsyncBookingProperties properties;
+    private AsyncBookingService asyncBookingService;
+    private Map<Long, Employee> employees;
+    private AtomicLong nextMeetingId;
+    private LocalDateTime baseTime;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        employees = Map.of(1L, createEmployee(1L, "Owner"), 2L, createEmployee(2L, "Participant"),
+                3L, createEmployee(3L, "Other"));
+        when(employeeRepository.findAllById(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(0).stream()
+                        .filter(employees::containsKey)
+                        .map(employees::get)
+                        .toList());
+
+        when(meetingRepository.findBusyTimes(anyCollection(), any(), any())).thenCallRealMethod();
+
+        nextMeetingId = new AtomicLong(100);
+        when(meetingRepository.saveAll(ArgumentMatchers.<Meeting>anyList())).thenAnswer(invocation -> {
+            List<Meeting> meetings = invocation.getArgument(0);
+            meetings.forEach(meeting -> meeting.setId(nextMeetingId.incrementAndGet()));
+            return meetings;
+        });
+
+        properties = new AsyncBookingProperties();
+        properties.setMaxBatchSize(10);
+        baseTime = LocalDateTime.of(2024, 3, 4, 10, 0);
+        asyncBookingService = createService();
+    }
+
+    @Test
+    @DisplayName("Should acknowledge a booking before it is stored and persist it on flush")
+    void submit_PersistedOnFlush() {
+        // Act
+        BookingStatus accepted = asyncBookingService.submit(1L, createMeetingDTO(baseTime, 2L));
+
+        // Assert
+        assertThat(accepted.state()).isEqualTo(State.PENDING);
+        assertThat(accepted.provisionalId()).isNotBlank();
+        verify(meetingRepository, times(0)).saveAll(ArgumentMatchers.<Meeting>anyList());
+
+        assertThat(asyncBookingService.flushPending()).isEqualTo(1);
+        BookingStatus stored = asyncBookingService.status(accepted.provisionalId()).orElseThrow();
+        assertThat(stored.state()).isEqualTo(State.PERSISTED);
+        assertThat(stored.meetingId()).isEqualTo(101L);
+    }
+
+    @Test
+    @DisplayName("Should store several bookings in one transaction")
+    void flushPending_GroupsBookings() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            asyncBookingService.submit(1L, createMeetingDTO(baseTime.plusHours(i), 2L));
+        }
+
+        // Act
+        int flushed = asyncBookingService.flushPending();
+
+        // Assert
+        assertThat(flushed).isEqualTo(5);
+        verify(meetingRepository, times(1)).saveAll(ArgumentMatchers.<Meeting>anyList());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a booking that overlaps a pending one for the same employee")
+    void submit_OverlapsPending_ThrowsConflict() {
+        // Arrange
+        asyncBookingService.submit(1L, createMeetingDTO(baseTime, 2L));
+
+        // Act & Assert
+        MeetingConflictException exception = assertThrows(MeetingConflictException.class,
+                () -> asyncBookingService.submit(3L, createMeetingDTO(baseTime.plusMinutes(30), 2L)));
+        assertThat(exception.getMessage()).contains("Participant");
+        assertThat(asyncBookingService.submit(3L, createMeetingDTO(baseTime.plusHours(1), 2L)).state())
+                .isEqualTo(State.PENDING);
+    }
+
+    @Test
+    @DisplayName("Should reject a booking that overlaps a stored meeting")
+    void submit_OverlapsStored_ThrowsConflict() {
+        // Arrange
+        when(meetingRepository.findOwnerBusyTimes(anyCollection(), any(), any()))
+                .thenReturn(List.of(new EmployeeBusyTime(2L, baseTime, baseTime.plusHours(1))));
+
+        // Act & Assert
+        assertThrows(MeetingConflictException.class,
+                () -> asyncBookingService.submit(1L, createMeetingDTO(baseTime, 2L)));
+    }
+
+    @Test
+    @DisplayName("Should reject a queued booking when a conflicting meeting was stored before the flush")
+    void flushPending_ConflictAtWriteTime_Rejected() {
+        // Arrange
+        BookingStatus accepted = asyncBookingService.submit(1L, createMeetingDTO(baseTime, 2L));
+        when(meetingRepository.findParticipantBusyTimes(anyCollection(), any(), any()))
+                .thenReturn(List.of(new EmployeeBusyTime(2L, baseTime, baseTime.plusHours(1))));
+
+        // Act
+        asyncBookingService.flushPending();
+
+        // Assert
+        BookingStatus status = asyncBookingService.status(accepted.provisionalId()).orElseThrow();
+        assertThat(status.state()).isEqualTo(State.REJECTED);
+        assertThat(status.reason()).isEqualTo(AsyncBookingService.CONFLICT_REASON);
+    }
+
+    @Test
+    @DisplayName("Should retry bookings one by one when the batch transaction fails")
+    void flushPending_BatchFails_RetriesIndividually() {
+        // Arrange
+        BookingStatus first = asyncBookingService.submit(1L, createMeetingDTO(baseTime, 2L));
+        BookingStatus second = asyncBookingService.submit(1L, createMeetingDTO(baseTime.plusHours(1), 2L));
+        when(meetingRepository.saveAll(ArgumentMatchers.<Meeting>anyList())).thenAnswer(invocation -> {
+            List<Meeting> meetings = invocation.getArgument(0);
+            if (meetings.size() > 1) {
+                throw new IllegalStateException("Deadlock");
+            }
+            meetings.forEach(meeting -> meeting.setId(nextMeetingId.incrementAndGet()));
+            return meetings;
+        });
+
+        // Act
+        asyncBookingService.flushPending();
+
+        // Assert
+        assertThat(asyncBookingService.status(first.provisionalId()).orElseThrow().state()).isEqualTo(State.PERSISTED);
+        assertThat(asyncBookingService.status(second.provisionalId()).orElseThrow().state()).isEqualTo(State.PERSISTED);
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Should refuse new bookings when the queue is full")
+    void submit_QueueFull_Rejected() {
+        // Arrange
+        properties.setMaxPending(1);
+        asyncBookingService = createService();
+        asyncBookingService.submit(1L, createMeetingDTO(baseTime, 2L));
+
+        // Act & Assert
+        assertThrows(AdmissionRejectedException.class,
+                () -> asyncBookingService.submit(3L, createMeetingDTO(baseTime.plusHours(2), null)));
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException when the owner does not exist")
+    void submit_UnknownOwner() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> asyncBookingService.submit(99L, createMeetingDTO(baseTime, 2L)));
+        assertThat(exception.getMessage()).isEqualTo("Owner not found with ID: 99");
+    }
+
+    private AsyncBookingService createService() {
+        return new AsyncBookingService(employeeRepository, roomRepository, meetingRepository, transactionManager,
+                properties, new ScheduleVersions(), Clock.fixed(Instant.parse("2024-03-01T08:00:00Z"), ZoneOffset.UTC));
+    }
+
+    private MeetingDTO createMeetingDTO(LocalDateTime start, Long participantId) {
+        MeetingDTO dto = new MeetingDTO();
+        dto.setTitle("Async meeting");
+        dto.setStartTime(start);
+        dto.setEndTime(start.plusHours(1));
+        dto.setParticipantIds(participantId != null ? List.of(participantId) : List.of());
+        return dto;
+    }
+
+    private Employee createEmployee(Long id, String name) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName(name);
+        return employee;
+    }
+}
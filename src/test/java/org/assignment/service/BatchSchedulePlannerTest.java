@@ -0,0 +1,160 @@
+package org.assignment.service;
+
+import org.assignment.service.BatchSchedulePlanner.Placement;
+import org.assignment.service.BatchSchedulePlanner.Plan;
+import org.assignment.service.BatchSchedulePlanner.PlanRequest;
+import org.assignment.service.CalendarService.BusyInterval;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("BatchSchedulePlanner Tests")
+class BatchSchedulePlannerTest {
+
+    private ForkJoinPool pool;
+    private BatchSchedulePlanner planner;
+    private LocalDateTime day;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        planner = new BatchSchedulePlanner(pool, 3);
+        day = LocalDate.of(2024, 3, 4).atStartOfDay();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should place meetings only where every attendee is free and within working hours")
+    void plan_RespectsExistingMeetings() {
+        // Arrange
+        Map<Long, List<BusyInterval>> busy = Map.of(
+                1L, List.of(new BusyInterval(day.withHour(9), day.withHour(12))),
+                2L, List.of(new BusyInterval(day.withHour(13), day.withHour(17))));
+        PlanRequest request = request(Set.of(1L, 2L), 60, day, day.plusDays(1), 0);
+
+        // Act
+        Plan plan = planner.plan(List.of(request), busy);
+
+        // Assert
+        assertThat(plan.unplaced()).isEmpty();
+        assertThat(plan.placements()).singleElement()
+                .satisfies(placement -> assertThat(placement.start()).isEqualTo(day.withHour(12)));
+    }
+
+    @Test
+    @DisplayName("Should never double-book an attendee within the batch")
+    void plan_NoOverlapsWithinBatch() {
+        // Arrange
+        List<PlanRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            requests.add(request(Set.of((long) (i % 10), (long) (10 + i % 7)), 30 + 30 * (i % 3),
+                    day, day.plusDays(5), i % 4));
+        }
+
+        // Act
+        Plan plan = planner.plan(requests, Map.of());
+
+        // Assert
+        Map<Long, List<Placement>> byAttendee = new HashMap<>();
+        for (Placement placement : plan.placements()) {
+            for (Long attendee : requests.get(placement.request()).attendees()) {
+                byAttendee.computeIfAbsent(attendee, id -> new ArrayList<>()).add(placement);
+            }
+        }
+        byAttendee.values().forEach(placements -> {
+            for (int i = 0; i < placements.size(); i++) {
+                for (int j = i + 1; j < placements.size(); j++) {
+                    Placement a = placements.get(i);
+                    Placement b = placements.get(j);
+                    assertThat(a.start().isBefore(b.end()) && b.start().isBefore(a.end()))
+                            .as("%s overlaps %s", a, b)
+                            .isFalse();
+                }
+            }
+        });
+        assertThat(plan.placements().size() + plan.unplaced().size()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should move a lower-priority meeting when that is the only way to place another")
+    void plan_LocalSearchRelocatesBlocker() {
+        // Arrange: "flexible" has fewer candidates, so it is placed first and takes 09:00 at the start of
+        // the day. That blocks "constrained", whose afternoon slots are all taken by a higher-priority
+        // meeting, until the local search moves "flexible" to 10:00.
+        PlanRequest flexible = request(Set.of(1L), 60, day.withHour(9), day.withHour(11), 0);
+        PlanRequest constrained = request(Set.of(1L, 2L), 60, day.withHour(9), day.withHour(15), 0);
+        PlanRequest important = request(Set.of(2L), 120, day.withHour(13), day.withHour(15), 5);
+        Map<Long, List<BusyInterval>> busy = Map.of(2L, List.of(
+                new BusyInterval(day.withHour(10), day.withHour(13)),
+                new BusyInterval(day.withHour(15), day.withHour(17))));
+
+        // Act
+        Plan plan = planner.plan(List.of(flexible, constrained, important), busy);
+
+        // Assert
+        assertThat(plan.unplaced()).isEmpty();
+        assertThat(plan.placements()).extracting(Placement::request, Placement::start)
+                .containsExactly(
+                        tuple(1, day.withHour(9)),
+                        tuple(0, day.withHour(10)),
+                        tuple(2, day.withHour(13)));
+    }
+
+    @Test
+    @DisplayName("Should report why a meeting could not be placed")
+    void plan_ReportsReasons() {
+        // Arrange
+        Map<Long, List<BusyInterval>> busy = Map.of(
+                1L, List.of(new BusyInterval(day.withHour(9), day.withHour(17))));
+        PlanRequest impossible = request(Set.of(1L), 30, day.withHour(9), day.withHour(17), 0);
+        PlanRequest first = request(Set.of(2L), 60, day.withHour(9), day.withHour(10), 1);
+        PlanRequest second = request(Set.of(2L), 60, day.withHour(9), day.withHour(10), 0);
+
+        // Act
+        Plan plan = planner.plan(List.of(impossible, first, second), busy);
+
+        // Assert
+        assertThat(plan.unplaced())
+                .containsEntry(0, BatchSchedulePlanner.NO_FREE_SLOT)
+                .containsEntry(2, BatchSchedulePlanner.DISPLACED)
+                .doesNotContainKey(1);
+    }
+
+    @Test
+    @DisplayName("Should prefer slots next to existing meetings to keep calendars compact")
+    void plan_PrefersAdjacentSlots() {
+        // Arrange
+        Map<Long, List<BusyInterval>> busy = Map.of(
+                1L, List.of(new BusyInterval(day.withHour(11), day.withHour(12))));
+        PlanRequest request = request(Set.of(1L), 30, day.withHour(10), day.withHour(15), 0);
+
+        // Act
+        Plan plan = planner.plan(List.of(request), busy);
+
+        // Assert
+        assertThat(plan.placements()).singleElement()
+                .satisfies(placement -> assertThat(placement.start()).isEqualTo(day.withHour(10).withMinute(30)));
+    }
+
+    private PlanRequest request(Set<Long> attendees, int minutes, LocalDateTime from, LocalDateTime to, int priority) {
+        return new PlanRequest(attendees, Duration.ofMinutes(minutes), from, to, priority);
+    }
+}
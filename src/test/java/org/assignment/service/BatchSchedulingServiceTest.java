@@ -0,0 +1,149 @@
+package org.assignment.service;
+
+import org.assignment.datamanager.BatchMeetingRequestDTO;
+import org.assignment.domainmodel.Employee;
+import org.assignment.domainmodel.Meeting;
+import org.assignment.repository.EmployeeBusyTime;
+import org.assignment.repository.EmployeeRepository;
+import org.assignment.repository.MeetingRepository;
+import org.assignment.service.BatchSchedulingService.BatchResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("BatchSchedulingService Tests")
+class BatchSchedulingServiceTest {
+
+    @Mock
+    private CalendarService calendarService;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private MeetingRepository meetingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BatchSchedulingService batchSchedulingService;
+    private LocalDateTime baseTime;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        Map<Long, Employee> employees = Map.of(1L, createEmployee(1L, "Owner"), 2L, createEmployee(2L, "Participant"),
+                3L, createEmployee(3L, "Other"));
+        when(employeeRepository.findAllById(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(0).stream()
+                        .filter(employees::containsKey)
+                        .map(employees::get)
+                        .toList());
+        when(calendarService.bookMeeting(anyLong(), any(Meeting.class)))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+
+        BatchScheduleProperties properties = new BatchScheduleProperties();
+        properties.setParallelism(1);
+        batchSchedulingService = new BatchSchedulingService(calendarService, employeeRepository, meetingRepository,
+                transactionManager, properties);
+        baseTime = LocalDateTime.of(2024, 3, 4, 9, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchSchedulingService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should book every placement that is still free when the batch commits")
+    void schedule_BooksPlan() {
+        // Arrange
+        when(meetingRepository.findBusyTimes(anyCollection(), any(), any())).thenReturn(List.of());
+
+        // Act
+        BatchResult result = batchSchedulingService.schedule(
+                List.of(createRequest("Sync", 1L, 2L), createRequest("Review", 3L)), false);
+
+        // Assert
+        assertThat(result.scheduled()).extracting(Meeting::getTitle).containsExactly("Sync", "Review");
+        assertThat(result.unscheduled()).isEmpty();
+        verify(employeeRepository).findAllByIdForUpdate(Set.of(1L, 2L, 3L));
+    }
+
+    @Test
+    @DisplayName("Should not book a placement that conflicts with a meeting booked during planning")
+    void schedule_ConflictBookedDuringPlanning_ReportsUnscheduled() {
+        // Arrange
+        EmployeeBusyTime bookedMeanwhile = new EmployeeBusyTime(2L, baseTime, baseTime.plusHours(8));
+        when(meetingRepository.findBusyTimes(anyCollection(), any(), any()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(bookedMeanwhile));
+
+        // Act
+        BatchResult result = batchSchedulingService.schedule(
+                List.of(createRequest("Sync", 1L, 2L), createRequest("Review", 3L)), false);
+
+        // Assert
+        assertThat(result.scheduled()).extracting(Meeting::getTitle).containsExactly("Review");
+        assertThat(result.unscheduled()).containsExactly(
+                new BatchSchedulingService.Unscheduled(0, "Sync", BatchSchedulingService.CONFLICT_REASON));
+        verify(calendarService, times(1)).bookMeeting(anyLong(), any(Meeting.class));
+        verify(calendarService, never()).bookMeeting(eq(1L), any(Meeting.class));
+    }
+
+    @Test
+    @DisplayName("Should neither lock nor book anything on a dry run")
+    void schedule_DryRun_BooksNothing() {
+        // Arrange
+        when(meetingRepository.findBusyTimes(anyCollection(), any(), any())).thenReturn(List.of());
+
+        // Act
+        BatchResult result = batchSchedulingService.schedule(List.of(createRequest("Sync", 1L, 2L)), true);
+
+        // Assert
+        assertThat(result.scheduled()).extracting(Meeting::getTitle).containsExactly("Sync");
+        verify(employeeRepository, never()).findAllByIdForUpdate(anyCollection());
+        verify(calendarService, never()).bookMeeting(anyLong(), any(Meeting.class));
+    }
+
+    private BatchMeetingRequestDTO createRequest(String title, Long ownerId, Long... participantIds) {
+        BatchMeetingRequestDTO request = new BatchMeetingRequestDTO();
+        request.setTitle(title);
+        request.setOwnerId(ownerId);
+        request.setParticipantIds(List.of(participantIds));
+        request.setDurationMinutes(60);
+        request.setWindowStart(baseTime);
+        request.setWindowEnd(baseTime.plusHours(8));
+        return request;
+    }
+
+    private Employee createEmployee(Long id, String name) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName(name);
+        return employee;
+    }
+}
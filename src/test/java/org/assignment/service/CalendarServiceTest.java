@@ -1,13 +1,22 @@
 package org.assignment.service;
 
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.tck.TestObservationRegistry;
+import io.micrometer.observation.tck.TestObservationRegistryAssert;
 import org.assignment.domainmodel.Employee;
 import org.assignment.domainmodel.Meeting;
+import org.assignment.domainmodel.Room;
+import org.assignment.exceptions.MeetingConflictException;
+import org.assignment.repository.EmployeeBusyTime;
 import org.assignment.repository.EmployeeRepository;
 import org.assignment.repository.MeetingRepository;
+import org.assignment.repository.RoomRepository;
+import org.assignment.schedule.OffHeapScheduleStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -35,6 +44,9 @@ class CalendarServiceTest {
     @Mock
     private MeetingRepository meetingRepository;
 
+    @Mock
+    private RoomRepository roomRepository;
+
     private CalendarService calendarService;
     private Employee owner;
     private Employee participant1;
@@ -44,7 +56,8 @@ class CalendarServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        calendarService = new CalendarService(employeeRepository, meetingRepository);
+        calendarService = new CalendarService(employeeRepository, meetingRepository, roomRepository,
+                new ScheduleVersions(), (OffHeapScheduleStore) null, ObservationRegistry.NOOP);
 
         baseTime = LocalDateTime.now()
                 .withHour(10)
@@ -91,6 +104,46 @@ class CalendarServiceTest {
             assertThat(exception.getMessage()).isEqualTo("Owner not found with ID: 1");
             verify(meetingRepository, never()).save(any());
         }
+
+        @Test
+        @DisplayName("Should reject a meeting whose room is already booked")
+        void bookMeeting_RoomAlreadyBooked_ThrowsException() {
+            // Arrange
+            Meeting meeting = createValidMeeting();
+            Room room = createRoom(1L, "Huddle Room", 4);
+            meeting.setRoom(room);
+            when(employeeRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+            when(roomRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(room));
+            when(meetingRepository.findOverlappingRoomMeetings(eq(List.of(1L)), any(), any()))
+                    .thenReturn(Collections.singletonList(createValidMeeting()));
+
+            // Act & Assert
+            MeetingConflictException exception = assertThrows(MeetingConflictException.class,
+                    () -> calendarService.bookMeeting(owner.getId(), meeting));
+            assertThat(exception.getMessage()).isEqualTo("Room Huddle Room is already booked");
+            verify(meetingRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should lock the room before checking it for overlapping bookings")
+        void bookMeeting_LocksRoomBeforeOverlapCheck() {
+            // Arrange
+            Meeting meeting = createValidMeeting();
+            Room room = createRoom(1L, "Huddle Room", 4);
+            meeting.setRoom(room);
+            when(employeeRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+            when(roomRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(room));
+            when(meetingRepository.save(any(Meeting.class))).thenReturn(meeting);
+
+            // Act
+            calendarService.bookMeeting(owner.getId(), meeting);
+
+            // Assert
+            InOrder inOrder = inOrder(roomRepository, meetingRepository);
+            inOrder.verify(roomRepository).findByIdForUpdate(1L);
+            inOrder.verify(meetingRepository).findOverlappingRoomMeetings(eq(List.of(1L)), any(), any());
+            inOrder.verify(meetingRepository).save(meeting);
+        }
     }
 
     @Nested
@@ -128,6 +181,149 @@ class CalendarServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Merge Busy Intervals Tests")
+    class MergeBusyIntervalsTests {
+
+        @Test
+        @DisplayName("Should merge overlapping and touching meetings across calendars")
+        void mergeBusyIntervals_OverlappingAndTouching() {
+            // Arrange
+            List<Meeting> first = List.of(
+                    createMeeting(baseTime, baseTime.plusHours(1)),
+                    createMeeting(baseTime.plusHours(3), baseTime.plusHours(4)));
+            List<Meeting> second = List.of(
+                    createMeeting(baseTime.plusMinutes(30), baseTime.plusMinutes(90)),
+                    createMeeting(baseTime.plusMinutes(90), baseTime.plusHours(2)));
+
+            // Act
+            List<CalendarService.BusyInterval> merged = CalendarService.mergeBusyIntervals(List.of(first, second));
+
+            // Assert
+            assertThat(merged).containsExactly(
+                    new CalendarService.BusyInterval(baseTime, baseTime.plusHours(2)),
+                    new CalendarService.BusyInterval(baseTime.plusHours(3), baseTime.plusHours(4)));
+        }
+
+        @Test
+        @DisplayName("Should keep a long meeting that contains shorter ones")
+        void mergeBusyIntervals_ContainedMeetings() {
+            // Arrange
+            List<Meeting> meetings = List.of(
+                    createMeeting(baseTime, baseTime.plusHours(4)),
+                    createMeeting(baseTime.plusHours(1), baseTime.plusHours(2)));
+
+            // Act
+            List<CalendarService.BusyInterval> merged = CalendarService.mergeBusyIntervals(List.of(meetings));
+
+            // Assert
+            assertThat(merged).containsExactly(new CalendarService.BusyInterval(baseTime, baseTime.plusHours(4)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Find Free Slots With Room Tests")
+    class FindFreeSlotsWithRoomTests {
+
+        @Test
+        @DisplayName("Should pick the smallest free room and fall back to a larger one when it is taken")
+        void findFreeSlotsWithRoom_PrefersSmallestFreeRoom() {
+            // Arrange
+            Room small = createRoom(1L, "Huddle Room", 4);
+            Room large = createRoom(2L, "Board Room", 12);
+            LocalDateTime tomorrow = LocalDateTime.now().plusDays(1)
+                    .withHour(9).withMinute(0).withSecond(0).withNano(0);
+            Meeting smallRoomBooking = createMeeting(tomorrow, tomorrow.plusHours(1));
+            smallRoomBooking.setRoom(small);
+
+            when(employeeRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(owner, participant1));
+            when(roomRepository.findByCapacityGreaterThanEqualOrderByCapacityAscIdAsc(2))
+                    .thenReturn(List.of(small, large));
+            when(meetingRepository.findOverlappingRoomMeetings(eq(List.of(1L, 2L)), any(), any()))
+                    .thenReturn(List.of(smallRoomBooking));
+
+            // Act
+            List<Map<String, Object>> freeSlots = calendarService.findFreeSlotsWithRoom(
+                    List.of(1L, 2L), Duration.ofMinutes(30), 2);
+
+            // Assert
+            assertThat(freeSlots).filteredOn(slot -> slot.get("date").equals(tomorrow.toLocalDate().toString())
+                            && slot.get("startTime").equals("09:00"))
+                    .singleElement()
+                    .satisfies(slot -> assertThat(slot).containsEntry("roomId", 2L));
+            assertThat(freeSlots).filteredOn(slot -> slot.get("date").equals(tomorrow.toLocalDate().toString())
+                            && slot.get("startTime").equals("10:00"))
+                    .singleElement()
+                    .satisfies(slot -> assertThat(slot).containsEntry("roomId", 1L));
+            verify(meetingRepository, times(1)).findOverlappingRoomMeetings(any(), any(), any());
+            verify(meetingRepository, times(1)).findBusyTimes(eq(List.of(1L, 2L)), any(), any());
+            verify(meetingRepository, never()).findOverlappingMeetings(anyLong(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should skip slots where a participant is busy")
+        void findFreeSlotsWithRoom_ParticipantBusy() {
+            // Arrange
+            LocalDateTime tomorrow = LocalDateTime.now().plusDays(1)
+                    .withHour(9).withMinute(0).withSecond(0).withNano(0);
+            when(employeeRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(owner, participant1));
+            when(meetingRepository.findBusyTimes(eq(List.of(1L, 2L)), any(), any()))
+                    .thenReturn(List.of(new EmployeeBusyTime(2L, tomorrow, tomorrow.plusHours(8))));
+            when(roomRepository.findByCapacityGreaterThanEqualOrderByCapacityAscIdAsc(2))
+                    .thenReturn(List.of(createRoom(1L, "Huddle Room", 4)));
+
+            // Act
+            List<Map<String, Object>> freeSlots = calendarService.findFreeSlotsWithRoom(
+                    List.of(1L, 2L), Duration.ofMinutes(30), 2);
+
+            // Assert
+            assertThat(freeSlots).isNotEmpty()
+                    .noneMatch(slot -> slot.get("date").equals(tomorrow.toLocalDate().toString()));
+        }
+
+        @Test
+        @DisplayName("Should return no slots when no room is large enough")
+        void findFreeSlotsWithRoom_NoSuitableRoom() {
+            // Arrange
+            when(employeeRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(owner, participant1));
+            when(roomRepository.findByCapacityGreaterThanEqualOrderByCapacityAscIdAsc(50)).thenReturn(List.of());
+
+            // Act
+            List<Map<String, Object>> freeSlots = calendarService.findFreeSlotsWithRoom(
+                    List.of(1L, 2L), Duration.ofMinutes(30), 50);
+
+            // Assert
+            assertThat(freeSlots).isEmpty();
+            verify(meetingRepository, never()).findOverlappingRoomMeetings(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should observe the search with attendee, room and slot counts")
+        void findFreeSlotsWithRoom_RecordsObservation() {
+            // Arrange
+            TestObservationRegistry observationRegistry = TestObservationRegistry.create();
+            calendarService = new CalendarService(employeeRepository, meetingRepository, roomRepository,
+                    new ScheduleVersions(), (OffHeapScheduleStore) null, observationRegistry);
+            when(employeeRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(owner, participant1));
+            when(roomRepository.findByCapacityGreaterThanEqualOrderByCapacityAscIdAsc(2))
+                    .thenReturn(List.of(createRoom(1L, "Huddle Room", 4)));
+
+            // Act
+            List<Map<String, Object>> freeSlots = calendarService.findFreeSlotsWithRoom(
+                    List.of(1L, 2L), Duration.ofMinutes(30), 2);
+
+            // Assert
+            TestObservationRegistryAssert.assertThat(observationRegistry)
+                    .hasObservationWithNameEqualTo("calendar.find-free-slots-with-room")
+                    .that()
+                    .hasBeenStopped()
+                    .hasLowCardinalityKeyValue("calendar.source", "database")
+                    .hasHighCardinalityKeyValue("calendar.attendees", "2")
+                    .hasHighCardinalityKeyValue("calendar.rooms", "1")
+                    .hasHighCardinalityKeyValue("calendar.slots", String.valueOf(freeSlots.size()));
+        }
+    }
+
     @Nested
     @DisplayName("Find Conflicts Tests")
     class FindConflictsTests {
@@ -169,6 +365,97 @@ class CalendarServiceTest {
             // Assert
             assertThat(conflicts).isEmpty();
         }
+
+        @Test
+        @DisplayName("Should observe the check with attendee and conflict counts")
+        void findConflicts_RecordsObservation() {
+            // Arrange
+            TestObservationRegistry observationRegistry = TestObservationRegistry.create();
+            calendarService = new CalendarService(employeeRepository, meetingRepository, roomRepository,
+                    new ScheduleVersions(), (OffHeapScheduleStore) null, observationRegistry);
+            Meeting meeting = createValidMeeting();
+            meeting.setParticipants(Arrays.asList(participant1, participant2));
+            when(meetingRepository.findOverlappingMeetings(eq(participant1.getId()), any(), any()))
+                    .thenReturn(Collections.singletonList(createValidMeeting()));
+            when(meetingRepository.findOverlappingMeetings(eq(participant2.getId()), any(), any()))
+                    .thenReturn(Collections.emptyList());
+
+            // Act
+            calendarService.findConflicts(meeting);
+
+            // Assert
+            TestObservationRegistryAssert.assertThat(observationRegistry)
+                    .hasObservationWithNameEqualTo("calendar.find-conflicts")
+                    .that()
+                    .hasBeenStopped()
+                    .hasLowCardinalityKeyValue("calendar.source", "database")
+                    .hasHighCardinalityKeyValue("calendar.attendees", "3")
+                    .hasHighCardinalityKeyValue("calendar.conflicts", "1");
+        }
+    }
+
+    @Nested
+    @DisplayName("Off-Heap Schedule Store Tests")
+    class ScheduleStoreTests {
+
+        private OffHeapScheduleStore scheduleStore;
+
+        @BeforeEach
+        void setUpStore() {
+            scheduleStore = new OffHeapScheduleStore(8, 16);
+            scheduleStore.markReady();
+            calendarService = new CalendarService(employeeRepository, meetingRepository, roomRepository,
+                    new ScheduleVersions(scheduleStore), scheduleStore, ObservationRegistry.NOOP);
+        }
+
+        @Test
+        @DisplayName("Should find the same free slots from the store as from stored meetings")
+        void findFreeSlots_MatchesRepository() {
+            // Arrange
+            LocalDateTime tomorrow = baseTime.plusDays(1);
+            Meeting busy = createMeeting(tomorrow, tomorrow.plusHours(2));
+            when(employeeRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+            when(employeeRepository.findById(participant1.getId())).thenReturn(Optional.of(participant1));
+            when(meetingRepository.findOverlappingMeetings(eq(owner.getId()), any(), any()))
+                    .thenReturn(List.of(busy));
+            when(meetingRepository.findOverlappingMeetings(eq(participant1.getId()), any(), any()))
+                    .thenReturn(Collections.emptyList());
+            List<Map<String, Object>> expected = new CalendarService(employeeRepository, meetingRepository,
+                    roomRepository, new ScheduleVersions(), (OffHeapScheduleStore) null, ObservationRegistry.NOOP)
+                    .findFreeSlots(owner.getId(), participant1.getId(), Duration.ofMinutes(30));
+            scheduleStore.add(owner.getId(), busy.getStartTime(), busy.getEndTime());
+
+            // Act
+            List<Map<String, Object>> freeSlots = calendarService.findFreeSlots(
+                    owner.getId(), participant1.getId(), Duration.ofMinutes(30));
+
+            // Assert
+            assertThat(freeSlots).isEqualTo(expected);
+            verify(meetingRepository, times(2)).findOverlappingMeetings(anyLong(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should add booked meetings to the store and see them as conflicts")
+        void bookMeeting_UpdatesStore() {
+            // Arrange
+            Meeting meeting = createValidMeeting();
+            meeting.setParticipants(List.of(participant1));
+            when(employeeRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+            when(meetingRepository.save(any(Meeting.class))).thenReturn(meeting);
+            calendarService.bookMeeting(owner.getId(), meeting);
+
+            Meeting proposed = createValidMeeting();
+            proposed.setStartTime(meeting.getEndTime().minusMinutes(30));
+            proposed.setEndTime(meeting.getEndTime().plusMinutes(30));
+            proposed.setParticipants(List.of(participant1, participant2));
+
+            // Act
+            List<Employee> conflicts = calendarService.findConflicts(proposed);
+
+            // Assert
+            assertThat(conflicts).containsExactly(owner, participant1);
+            verify(meetingRepository, never()).findOverlappingMeetings(anyLong(), any(), any());
+        }
     }
 
     private Employee createEmployee(Long id, String name) {
@@ -178,6 +465,23 @@ class CalendarServiceTest {
         return employee;
     }
 
+    private Room createRoom(Long id, String name, int capacity) {
+        Room room = new Room();
+        room.setId(id);
+        room.setName(name);
+        room.setCapacity(capacity);
+        return room;
+    }
+
+    private Meeting createMeeting(LocalDateTime start, LocalDateTime end) {
+        Meeting meeting = new Meeting();
+        meeting.setTitle("Busy");
+        meeting.setStartTime(start);
+        meeting.setEndTime(end);
+        meeting.setOwner(owner);
+        return meeting;
+    }
+
     private Meeting createValidMeeting() {
         Meeting meeting = new Meeting();
         meeting.setId(1L);
@@ -0,0 +1,104 @@
+package org.assignment.service;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.assignment.domainmodel.Employee;
+import org.assignment.domainmodel.Meeting;
+import org.assignment.repository.EmployeeRepository;
+import org.assignment.repository.MeetingRepository;
+import org.assignment.repository.RoomRepository;
+import org.assignment.schedule.OffHeapScheduleStore;
+import org.assignment.tenant.TenancyConfig;
+import org.assignment.tenant.TenantIdentifierResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the same conflict checks against the database and against the schedule store loaded
+ * from the same meetings: switching the store on must not change any result.
+ */
+@DataJpaTest
+@Import({TenantIdentifierResolver.class, TenancyConfig.class})
+@DisplayName("Conflict Source Consistency Tests")
+class ConflictSourceConsistencyTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 7, 0, 0);
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    private CalendarService databaseService;
+    private CalendarService storeService;
+    private Employee owner;
+    private Employee participant;
+
+    @BeforeEach
+    void setUp() {
+        List<Employee> employees = employeeRepository.findAll();
+        owner = employees.get(0);
+        participant = employees.get(1);
+
+        Meeting existing = new Meeting();
+        existing.setTitle("Existing");
+        existing.setOwner(owner);
+        existing.setParticipants(List.of(participant));
+        existing.setStartTime(DAY.withHour(10));
+        existing.setEndTime(DAY.withHour(11));
+        meetingRepository.saveAndFlush(existing);
+
+        OffHeapScheduleStore scheduleStore = new OffHeapScheduleStore(16, 16);
+        scheduleStore.add(owner.getId(), existing.getStartTime(), existing.getEndTime());
+        scheduleStore.add(participant.getId(), existing.getStartTime(), existing.getEndTime());
+        scheduleStore.markReady();
+
+        ScheduleVersions scheduleVersions = new ScheduleVersions();
+        databaseService = new CalendarService(employeeRepository, meetingRepository, roomRepository,
+                scheduleVersions, null, ObservationRegistry.NOOP);
+        storeService = new CalendarService(employeeRepository, meetingRepository, roomRepository,
+                scheduleVersions, scheduleStore, ObservationRegistry.NOOP);
+    }
+
+    @ParameterizedTest(name = "{0} - {1}: {2} conflicts")
+    @DisplayName("Should find the same conflicts with and without the schedule store")
+    @CsvSource({
+            "09:00, 10:00, 0",
+            "11:00, 12:00, 0",
+            "09:30, 10:30, 2",
+            "10:30, 11:30, 2",
+            "10:15, 10:45, 2",
+            "09:00, 12:00, 2"
+    })
+    void findConflicts_SameResultInBothModes(String start, String end, int expectedConflicts) {
+        // Arrange
+        Meeting proposed = new Meeting();
+        proposed.setTitle("Proposed");
+        proposed.setOwner(owner);
+        proposed.setParticipants(List.of(participant));
+        proposed.setStartTime(DAY.with(LocalTime.parse(start)));
+        proposed.setEndTime(DAY.with(LocalTime.parse(end)));
+
+        // Act
+        List<Employee> fromDatabase = databaseService.findConflicts(proposed);
+        List<Employee> fromStore = storeService.findConflicts(proposed);
+
+        // Assert
+        assertThat(fromDatabase).hasSize(expectedConflicts);
+        assertThat(fromStore).isEqualTo(fromDatabase);
+    }
+}
@@ -0,0 +1,198 @@
+package org.assignment.service;
+
+import org.assignment.replica.ReplicationTracker;
+import org.assignment.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@DisplayName("FreeSlotCache Tests")
+class FreeSlotCacheTest {
+
+    private static final List<Map<String, Object>> SLOTS =
+            List.of(Map.of("date", "2024-03-01", "startTime", "09:00", "endTime", "09:30"));
+
+    @Mock
+    private ObjectProvider<ReplicationTracker> replicationTracker;
+
+    private ScheduleVersions scheduleVersions;
+    private FreeSlotCacheProperties properties;
+    private FreeSlotCache freeSlotCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        scheduleVersions = new ScheduleVersions();
+        properties = new FreeSlotCacheProperties();
+        properties.setMaxEntries(2);
+        freeSlotCache = new FreeSlotCache(scheduleVersions, properties, replicationTracker);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve a stored result until one of the employees' schedules changes")
+    void get_InvalidatedByVersionBump() {
+        // Arrange
+        freeSlotCache.put(freeSlotCache.key(1L, 2L, 30), SLOTS);
+
+        // Act & Assert
+        assertThat(freeSlotCache.get(freeSlotCache.key(1L, 2L, 30))).contains(SLOTS);
+        assertThat(freeSlotCache.get(freeSlotCache.key(2L, 1L, 30))).contains(SLOTS);
+        assertThat(freeSlotCache.get(freeSlotCache.key(1L, 2L, 60))).isEmpty();
+
+        scheduleVersions.bumpAfterCommit(List.of(3L));
+        assertThat(freeSlotCache.get(freeSlotCache.key(1L, 2L, 30))).contains(SLOTS);
+
+        scheduleVersions.bumpAfterCommit(List.of(2L));
+        assertThat(freeSlotCache.get(freeSlotCache.key(1L, 2L, 30))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should change the ETag only when an attendee's schedule changes")
+    void key_EtagFollowsVersions() {
+        // Arrange
+        String before = freeSlotCache.key(1L, 2L, 30).etag();
+
+        // Act
+        scheduleVersions.bumpAfterCommit(List.of(5L));
+        String unrelated = freeSlotCache.key(1L, 2L, 30).etag();
+        scheduleVersions.bumpAll();
+        String after = freeSlotCache.key(1L, 2L, 30).etag();
+
+        // Assert
+        assertThat(unrelated).isEqualTo(before);
+        assertThat(after).isNotEqualTo(before);
+        assertThat(after).startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    @DisplayName("Should bump versions only after the surrounding transaction commits")
+    void bumpAfterCommit_WaitsForCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        scheduleVersions.bumpAfterCommit(List.of(1L));
+        scheduleVersions.bumpAfterCommit(List.of(2L));
+        long beforeCommit = scheduleVersions.version(1L);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Assert
+        assertThat(beforeCommit).isZero();
+        assertThat(scheduleVersions.version(1L)).isEqualTo(1);
+        assertThat(scheduleVersions.version(2L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not cache while the replica lags behind the primary")
+    void key_NotCacheableWhileReplicaLags() {
+        // Arrange
+        ReplicationTracker tracker = new ReplicationTracker(Duration.ofSeconds(5), Clock.systemDefaultZone());
+        when(replicationTracker.getIfAvailable()).thenReturn(tracker);
+        tracker.recordApplied(0, Instant.now());
+        tracker.recordWrite("alice");
+
+        // Act
+        FreeSlotCache.Key lagging = freeSlotCache.key(1L, 2L, 30);
+        freeSlotCache.put(lagging, SLOTS);
+        tracker.recordApplied(tracker.writeSequence(), Instant.now());
+        FreeSlotCache.Key caughtUp = freeSlotCache.key(1L, 2L, 30);
+
+        // Assert
+        assertThat(lagging.cacheable()).isFalse();
+        assertThat(freeSlotCache.size()).isZero();
+        assertThat(caughtUp.cacheable()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not cache when disabled")
+    void key_NotCacheableWhenDisabled() {
+        // Arrange
+        properties.setEnabled(false);
+
+        // Act
+        FreeSlotCache.Key key = freeSlotCache.key(1L, 2L, 30);
+        freeSlotCache.put(key, SLOTS);
+
+        // Assert
+        assertThat(key.cacheable()).isFalse();
+        assertThat(freeSlotCache.get(key)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest entries beyond the configured maximum")
+    void put_TrimsOldestEntries() {
+        // Act
+        freeSlotCache.put(freeSlotCache.key(1L, 2L, 30), SLOTS);
+        freeSlotCache.put(freeSlotCache.key(1L, 3L, 30), SLOTS);
+        freeSlotCache.put(freeSlotCache.key(1L, 4L, 30), SLOTS);
+
+        // Assert
+        assertThat(freeSlotCache.size()).isEqualTo(2);
+        assertThat(freeSlotCache.get(freeSlotCache.key(1L, 2L, 30))).isEmpty();
+        assertThat(freeSlotCache.get(freeSlotCache.key(1L, 4L, 30))).contains(SLOTS);
+    }
+
+    @Test
+    @DisplayName("Should keep recently read entries when evicting")
+    void put_EvictsLeastRecentlyUsed() {
+        // Arrange
+        freeSlotCache.put(freeSlotCache.key(1L, 2L, 30), SLOTS);
+        freeSlotCache.put(freeSlotCache.key(1L, 3L, 30), SLOTS);
+        freeSlotCache.get(freeSlotCache.key(1L, 2L, 30));
+
+        // Act
+        freeSlotCache.put(freeSlotCache.key(1L, 4L, 30), SLOTS);
+
+        // Assert
+        assertThat(freeSlotCache.size()).isEqualTo(2);
+        assertThat(freeSlotCache.get(freeSlotCache.key(1L, 2L, 30))).contains(SLOTS);
+        assertThat(freeSlotCache.get(freeSlotCache.key(1L, 3L, 30))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep tenants' entries and size limits apart")
+    void put_PartitionsByTenant() {
+        // Arrange
+        freeSlotCache.put(freeSlotCache.key(1L, 2L, 30), SLOTS);
+
+        // Act
+        FreeSlotCache.Key otherTenant = TenantContext.callAs("acme", () -> freeSlotCache.key(1L, 2L, 30));
+        Optional<List<Map<String, Object>>> otherTenantResult = freeSlotCache.get(otherTenant);
+        TenantContext.runAs("acme", () -> {
+            freeSlotCache.put(freeSlotCache.key(1L, 3L, 30), SLOTS);
+            freeSlotCache.put(freeSlotCache.key(1L, 4L, 30), SLOTS);
+            freeSlotCache.put(freeSlotCache.key(1L, 5L, 30), SLOTS);
+        });
+
+        // Assert
+        assertThat(otherTenantResult).isEmpty();
+        assertThat(otherTenant.etag()).isNotEqualTo(freeSlotCache.key(1L, 2L, 30).etag());
+        assertThat(freeSlotCache.get(freeSlotCache.key(1L, 2L, 30))).contains(SLOTS);
+        assertThat(freeSlotCache.size()).isEqualTo(3);
+    }
+}
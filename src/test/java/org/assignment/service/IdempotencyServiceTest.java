@@ -0,0 +1,181 @@
+package org.assignment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assignment.datamanager.MeetingResponseDTO;
+import org.assignment.domainmodel.IdempotencyRecord;
+import org.assignment.exceptions.IdempotencyKeyReuseException;
+import org.assignment.repository.IdempotencyRecordRepository;
+import org.assignment.tenant.TenantContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("IdempotencyService Tests")
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ObjectMapper objectMapper;
+    private IdempotencyProperties properties;
+    private IdempotencyService idempotencyService;
+    private AtomicInteger bookings;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(idempotencyRecordRepository.findById(anyString())).thenReturn(Optional.empty());
+
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        properties = new IdempotencyProperties();
+        properties.setTtl(Duration.ofHours(1));
+        properties.setMaxCachedKeys(2);
+        idempotencyService = new IdempotencyService(idempotencyRecordRepository, transactionManager, objectMapper,
+                properties, Clock.fixed(Instant.parse("2024-01-01T10:00:00Z"), ZoneOffset.UTC));
+        bookings = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should book once and replay the original response for the same key")
+    void execute_ReplaysOriginalResponse() {
+        IdempotencyService.Result first = idempotencyService.execute("key", "fingerprint", this::book);
+        IdempotencyService.Result second = idempotencyService.execute("key", "fingerprint", this::book);
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(second.replayed()).isTrue();
+        assertThat(second.response().getId()).isEqualTo(first.response().getId());
+        assertThat(bookings).hasValue(1);
+        verify(idempotencyRecordRepository, times(1)).save(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    @DisplayName("Should not replay another tenant's response for the same key")
+    void execute_KeysScopedByTenant() {
+        IdempotencyService.Result first = idempotencyService.execute("key", "fingerprint", this::book);
+        IdempotencyService.Result other = TenantContext.callAs("acme",
+                () -> idempotencyService.execute("key", "fingerprint", this::book));
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(other.replayed()).isFalse();
+        assertThat(bookings).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should replay a persisted response that is no longer cached")
+    void execute_ReplaysPersistedResponse() throws Exception {
+        MeetingResponseDTO stored = new MeetingResponseDTO();
+        stored.setId(7L);
+        stored.setStartTime(LocalDateTime.of(2024, 1, 1, 11, 0));
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setIdempotencyKey("default/key");
+        record.setRequestFingerprint("fingerprint");
+        record.setResponseBody(objectMapper.writeValueAsString(stored));
+        record.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 30));
+        when(idempotencyRecordRepository.findById("default/key")).thenReturn(Optional.of(record));
+
+        IdempotencyService.Result result = idempotencyService.execute("key", "fingerprint", this::book);
+
+        assertThat(result.replayed()).isTrue();
+        assertThat(result.response().getId()).isEqualTo(7L);
+        assertThat(result.response().getStartTime()).isEqualTo(stored.getStartTime());
+        assertThat(bookings).hasValue(0);
+        InOrder inOrder = inOrder(transactionManager, idempotencyRecordRepository);
+        inOrder.verify(transactionManager).getTransaction(argThat(definition -> !definition.isReadOnly()));
+        inOrder.verify(idempotencyRecordRepository).findById("default/key");
+    }
+
+    @Test
+    @DisplayName("Should reject reuse of a key for a different request")
+    void execute_DifferentRequest_ThrowsException() {
+        idempotencyService.execute("key", "fingerprint", this::book);
+
+        assertThrows(IdempotencyKeyReuseException.class,
+                () -> idempotencyService.execute("key", "other", this::book));
+    }
+
+    @Test
+    @DisplayName("Should allow a retry after the original booking failed")
+    void execute_FailedBooking_CanBeRetried() {
+        assertThrows(IllegalArgumentException.class, () -> idempotencyService.execute("key", "fingerprint", () -> {
+            throw new IllegalArgumentException("Owner not found");
+        }));
+
+        IdempotencyService.Result retry = idempotencyService.execute("key", "fingerprint", this::book);
+
+        assertThat(retry.replayed()).isFalse();
+        assertThat(bookings).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the in-memory cache bounded")
+    void execute_CacheIsBounded() {
+        for (int i = 0; i < 5; i++) {
+            idempotencyService.execute("key-" + i, "fingerprint", this::book);
+        }
+
+        assertThat(idempotencyService.cachedKeys()).isEqualTo(properties.getMaxCachedKeys());
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest keys first")
+    void execute_EvictsOldestKeys() {
+        for (int i = 0; i < 3; i++) {
+            idempotencyService.execute("key-" + i, "fingerprint", this::book);
+        }
+
+        IdempotencyService.Result newest = idempotencyService.execute("key-2", "fingerprint", this::book);
+        IdempotencyService.Result oldest = idempotencyService.execute("key-0", "fingerprint", this::book);
+
+        assertThat(newest.replayed()).isTrue();
+        assertThat(oldest.replayed()).isFalse();
+        assertThat(bookings).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("Should reject a key that does not fit the key column before booking")
+    void execute_KeyTooLong_ThrowsException() {
+        String key = "k".repeat(IdempotencyRecord.MAX_KEY_LENGTH - "default/".length() + 1);
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> idempotencyService.execute(key, "fingerprint", this::book));
+
+        assertThat(error.getMessage()).isEqualTo("Idempotency key must be at most 247 characters");
+        assertThat(bookings).hasValue(0);
+        verify(idempotencyRecordRepository, never()).save(any(IdempotencyRecord.class));
+    }
+
+    private MeetingResponseDTO book() {
+        MeetingResponseDTO response = new MeetingResponseDTO();
+        response.setId((long) bookings.incrementAndGet());
+        response.setTitle("Booked");
+        return response;
+    }
+}
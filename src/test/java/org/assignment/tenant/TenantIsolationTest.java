@@ -0,0 +1,71 @@
+package org.assignment.tenant;
+
+import org.assignment.domainmodel.Employee;
+import org.assignment.domainmodel.Room;
+import org.assignment.repository.EmployeeRepository;
+import org.assignment.repository.RoomRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs without a surrounding test transaction: a session takes its tenant when it is opened,
+ * so every repository call below opens its own session as the tenant it runs for.
+ */
+@DataJpaTest
+@Import({TenantIdentifierResolver.class, TenancyConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Tenant Isolation Tests")
+class TenantIsolationTest {
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Test
+    @DisplayName("Should stamp new rows with the current tenant and hide them from other tenants")
+    void save_VisibleOnlyToOwnTenant() {
+        // Arrange
+        Room room = new Room();
+        room.setName("Acme Boardroom");
+        room.setCapacity(50);
+
+        // Act
+        Room saved = TenantContext.callAs("acme", () -> roomRepository.save(room));
+
+        // Assert
+        assertThat(saved.getTenantId()).isEqualTo("acme");
+        assertThat(TenantContext.callAs("acme", () -> roomRepository.findById(saved.getId()))).isPresent();
+        assertThat(roomRepository.findById(saved.getId())).isEmpty();
+        assertThat(roomRepository.findAll()).extracting(Room::getName).doesNotContain("Acme Boardroom");
+        assertThat(roomRepository.findByCapacityGreaterThanEqualOrderByCapacityAscIdAsc(50)).isEmpty();
+        assertThat(TenantContext.callAs("acme", () -> roomRepository.findAll()))
+                .extracting(Room::getName).containsExactly("Acme Boardroom");
+    }
+
+    @Test
+    @DisplayName("Should not resolve another tenant's employees by ID")
+    void findAllById_OtherTenant_ReturnsNothing() {
+        // Arrange
+        List<Long> defaultIds = employeeRepository.findAll().stream().map(Employee::getId).toList();
+
+        // Act
+        List<Employee> found = TenantContext.callAs("globex", () -> employeeRepository.findAllById(defaultIds));
+
+        // Assert
+        assertThat(defaultIds).isNotEmpty();
+        assertThat(found).isEmpty();
+        assertThat(TenantContext.callAs("globex", () -> employeeRepository.findById(defaultIds.get(0)))).isEmpty();
+        assertThat(TenantContext.callAs("globex", () -> employeeRepository.count())).isZero();
+    }
+}
@@ -0,0 +1,83 @@
+package org.assignment.tracing;
+
+import io.micrometer.observation.tck.TestObservationRegistry;
+import io.micrometer.observation.tck.TestObservationRegistryAssert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("RepositoryObservationInterceptor Tests")
+class RepositoryObservationInterceptorTest {
+
+    interface SampleRepository {
+        List<String> findAll();
+
+        Optional<String> findById(Long id);
+    }
+
+    private TestObservationRegistry observationRegistry;
+    private SampleRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        observationRegistry = TestObservationRegistry.create();
+        SampleRepository target = new SampleRepository() {
+            @Override
+            public List<String> findAll() {
+                return List.of("a", "b", "c");
+            }
+
+            @Override
+            public Optional<String> findById(Long id) {
+                if (id < 0) {
+                    throw new IllegalArgumentException("Negative ID");
+                }
+                return Optional.empty();
+            }
+        };
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addInterface(SampleRepository.class);
+        proxyFactory.addAdvice(new RepositoryObservationInterceptor(observationRegistry, SampleRepository.class));
+        repository = (SampleRepository) proxyFactory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Should observe each call with the repository, method and rows returned")
+    void invoke_RecordsRows() {
+        // Act
+        repository.findAll();
+        repository.findById(1L);
+
+        // Assert
+        TestObservationRegistryAssert.assertThat(observationRegistry)
+                .hasNumberOfObservationsWithNameEqualTo(RepositoryObservationInterceptor.OBSERVATION_NAME, 2)
+                .hasAnObservation(observation -> observation
+                        .hasContextualNameEqualTo("SampleRepository.findAll")
+                        .hasLowCardinalityKeyValue("repository", "SampleRepository")
+                        .hasLowCardinalityKeyValue("method", "findAll")
+                        .hasHighCardinalityKeyValue("calendar.rows", "3"))
+                .hasAnObservation(observation -> observation
+                        .hasContextualNameEqualTo("SampleRepository.findById")
+                        .hasHighCardinalityKeyValue("calendar.rows", "0"));
+    }
+
+    @Test
+    @DisplayName("Should record the error and rethrow it")
+    void invoke_RecordsError() {
+        // Act
+        assertThrows(IllegalArgumentException.class, () -> repository.findById(-1L));
+
+        // Assert
+        TestObservationRegistryAssert.assertThat(observationRegistry)
+                .hasSingleObservationThat()
+                .hasBeenStopped()
+                .assertThatError()
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}